@@ -0,0 +1,110 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.benchmarks;
+
+import com.google.sps.Event;
+import com.google.sps.MeetingRequest;
+import com.google.sps.TimeRange;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates calendars and meeting requests for the benchmarks. A fixed seed is used so that every
+ * run of a benchmark sees the same data.
+ */
+final class Calendars {
+  private static final long SEED = 20191104L;
+  private static final int MINUTES_PER_DAY = TimeRange.WHOLE_DAY.duration();
+
+  private Calendars() {
+    // Disallow instances.
+  }
+
+  /**
+   * Returns the names of {@code count} people.
+   */
+  static List<String> people(int count) {
+    List<String> people = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      people.add("Person " + i);
+    }
+    return people;
+  }
+
+  /**
+   * Returns {@code count} events whose attendees are drawn from {@code people}.
+   */
+  static List<Event> events(int count, List<String> people, Density density) {
+    Random random = new Random(SEED);
+    List<Event> events = new ArrayList<>(count);
+
+    for (int i = 0; i < count; i++) {
+      int duration = between(random, density.minDuration, density.maxDuration);
+      int start = random.nextInt(MINUTES_PER_DAY - duration + 1);
+
+      int attendeeCount = between(random, density.minAttendees, density.maxAttendees);
+      List<String> attendees = new ArrayList<>(attendeeCount);
+      for (int j = 0; j < attendeeCount; j++) {
+        attendees.add(people.get(random.nextInt(people.size())));
+      }
+
+      events.add(new Event("Event " + i, TimeRange.fromStartDuration(start, duration), attendees));
+    }
+
+    return events;
+  }
+
+  /**
+   * Returns a request for {@code attendeeCount} mandatory attendees and as many optional attendees,
+   * all drawn from {@code people}.
+   */
+  static MeetingRequest request(List<String> people, int attendeeCount, long duration) {
+    List<String> shuffled = new ArrayList<>(people);
+    Collections.shuffle(shuffled, new Random(SEED));
+
+    int mandatoryCount = Math.min(attendeeCount, shuffled.size());
+    MeetingRequest request = new MeetingRequest(shuffled.subList(0, mandatoryCount), duration);
+
+    int optionalEnd = Math.min(2 * mandatoryCount, shuffled.size());
+    for (String attendee : shuffled.subList(mandatoryCount, optionalEnd)) {
+      request.addOptionalAttendee(attendee);
+    }
+
+    return request;
+  }
+
+  /**
+   * Returns {@code count} start-sorted, non-overlapping time ranges spread over the day.
+   */
+  static List<TimeRange> ranges(int count, long seed) {
+    Random random = new Random(seed);
+    List<TimeRange> ranges = new ArrayList<>(count);
+
+    int slot = MINUTES_PER_DAY / count;
+    for (int i = 0; i < count; i++) {
+      int start = i * slot + random.nextInt(Math.max(slot / 2, 1));
+      int end = Math.min(start + 1 + random.nextInt(slot), (i + 1) * slot);
+      ranges.add(TimeRange.fromStartEnd(start, end, false));
+    }
+
+    return ranges;
+  }
+
+  private static int between(Random random, int min, int max) {
+    return min + random.nextInt(max - min + 1);
+  }
+}
@@ -0,0 +1,37 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package com.google.sps.benchmarks;
+
+/**
+ * How much events overlap each other. Denser calendars have longer events with more attendees,
+ * so each attendee is busy for more of the day.
+ */
+public enum Density {
+  SPARSE(15, 30, 1, 2),
+  DENSE(30, 180, 2, 6);
+
+  final int minDuration;
+  final int maxDuration;
+  final int minAttendees;
+  final int maxAttendees;
+
+  Density(int minDuration, int maxDuration, int minAttendees, int maxAttendees) {
+    this.minDuration = minDuration;
+    this.maxDuration = maxDuration;
+    this.minAttendees = minAttendees;
+    this.maxAttendees = maxAttendees;
+  }
+}
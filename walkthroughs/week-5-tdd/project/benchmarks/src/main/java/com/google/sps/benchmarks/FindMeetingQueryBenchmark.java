@@ -0,0 +1,90 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.benchmarks;
+
+import com.google.sps.BitsetMeetingQuery;
+import com.google.sps.Event;
+import com.google.sps.EventIndex;
+import com.google.sps.FindMeetingQuery;
+import com.google.sps.MeetingRequest;
+import com.google.sps.TimeRange;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures whole queries against generated calendars of different sizes and densities. Sample
+ * time mode reports the latency percentiles, including p99.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FindMeetingQueryBenchmark {
+  private static final int PEOPLE = 5000;
+  private static final long DURATION_30_MINUTES = 30;
+
+  @Param({"10", "1000", "100000", "1000000"})
+  public int events;
+
+  @Param({"1", "10", "100", "1000"})
+  public int attendees;
+
+  @Param({"SPARSE", "DENSE"})
+  public Density density;
+
+  private List<Event> calendar;
+  private EventIndex index;
+  private MeetingRequest request;
+
+  private final FindMeetingQuery findMeetingQuery = new FindMeetingQuery();
+  private final BitsetMeetingQuery bitsetMeetingQuery = new BitsetMeetingQuery();
+
+  @Setup
+  public void setUp() {
+    List<String> people = Calendars.people(PEOPLE);
+    calendar = Calendars.events(events, people, density);
+    index = new EventIndex(calendar);
+    request = Calendars.request(people, attendees, DURATION_30_MINUTES);
+  }
+
+  @Benchmark
+  public Collection<TimeRange> query() {
+    return findMeetingQuery.query(calendar, request);
+  }
+
+  @Benchmark
+  public Collection<TimeRange> queryIndexed() {
+    return findMeetingQuery.query(index, request);
+  }
+
+  @Benchmark
+  public Collection<TimeRange> queryBitset() {
+    return bitsetMeetingQuery.query(calendar, request);
+  }
+}
@@ -0,0 +1,82 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.benchmarks;
+
+import com.google.sps.FindMeetingQuery;
+import com.google.sps.TimeRange;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the time range operations that the scheduler calls in its inner loops.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeRangeBenchmark {
+  private static final long DURATION_30_MINUTES = 30;
+
+  @Param({"10", "100", "1000"})
+  public int ranges;
+
+  private List<TimeRange> mandatoryTimes;
+  private List<TimeRange> optionalTimes;
+
+  @Setup
+  public void setUp() {
+    mandatoryTimes = Calendars.ranges(ranges, 1);
+    optionalTimes = Calendars.ranges(ranges, 2);
+  }
+
+  @Benchmark
+  public Collection<TimeRange> findOverlappingTimes() {
+    return FindMeetingQuery.findOverlappingTimes(mandatoryTimes, optionalTimes,
+        DURATION_30_MINUTES);
+  }
+
+  @Benchmark
+  public void overlaps(Blackhole blackhole) {
+    for (TimeRange mandatoryTime : mandatoryTimes) {
+      for (TimeRange optionalTime : optionalTimes) {
+        blackhole.consume(mandatoryTime.overlaps(optionalTime));
+      }
+    }
+  }
+
+  @Benchmark
+  public void contains(Blackhole blackhole) {
+    for (TimeRange mandatoryTime : mandatoryTimes) {
+      for (TimeRange optionalTime : optionalTimes) {
+        blackhole.consume(mandatoryTime.contains(optionalTime));
+      }
+    }
+  }
+}
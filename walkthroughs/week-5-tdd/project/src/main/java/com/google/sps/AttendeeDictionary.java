@@ -0,0 +1,128 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gives every attendee name a small, dense integer ID so that sets of attendees can be stored as
+ * sorted {@code int} arrays or bitmaps and compared without hashing strings. IDs are handed out in
+ * the order names are first seen and never change or get reused. The dictionary is shared by the
+ * whole application and is safe to use from several threads.
+ */
+public final class AttendeeDictionary {
+  private static final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+  private static final Object lock = new Object();
+
+  // Indexed by ID. Only grows, and only while holding the lock.
+  private static volatile String[] names = new String[64];
+  private static int size = 0;
+
+  private AttendeeDictionary() {
+    // Disallow instances.
+  }
+
+  /**
+   * Returns the ID of {@code name}, giving it a new ID if it has never been seen before.
+   */
+  public static int idOf(String name) {
+    if (name == null) {
+      throw new IllegalArgumentException("name cannot be null");
+    }
+
+    Integer id = idsByName.get(name);
+    if (id != null) {
+      return id;
+    }
+
+    synchronized (lock) {
+      id = idsByName.get(name);
+      if (id != null) {
+        return id;
+      }
+
+      if (size == names.length) {
+        names = Arrays.copyOf(names, names.length * 2);
+      }
+      names[size] = name;
+      idsByName.put(name, size);
+      return size++;
+    }
+  }
+
+  /**
+   * Returns the ID of {@code name}, or -1 if it has never been seen before.
+   */
+  public static int findId(String name) {
+    Integer id = idsByName.get(name);
+    return id == null ? -1 : id;
+  }
+
+  /**
+   * Returns the sorted, distinct IDs of {@code names}.
+   */
+  public static int[] idsOf(Collection<String> names) {
+    int[] ids = new int[names.size()];
+    int count = 0;
+    for (String name : names) {
+      ids[count++] = idOf(name);
+    }
+    return sortedDistinct(ids);
+  }
+
+  /**
+   * Returns the sorted, distinct IDs of those of {@code names} that have been seen before. Unlike
+   * {@link #idsOf}, this never gives out new IDs, so looking up names that only come from a request
+   * does not grow the dictionary.
+   */
+  public static int[] findIds(Collection<String> names) {
+    int[] ids = new int[names.size()];
+    int count = 0;
+    for (String name : names) {
+      int id = findId(name);
+      if (id >= 0) {
+        ids[count++] = id;
+      }
+    }
+    return sortedDistinct(Arrays.copyOf(ids, count));
+  }
+
+  /**
+   * Returns the name that was given {@code id}.
+   */
+  public static String nameOf(int id) {
+    String[] currentNames = names;
+    if (id < 0 || id >= currentNames.length || currentNames[id] == null) {
+      throw new IllegalArgumentException("Unknown attendee ID: " + id);
+    }
+    return currentNames[id];
+  }
+
+  private static int[] sortedDistinct(int[] ids) {
+    Arrays.sort(ids);
+
+    int count = 0;
+    for (int i = 0; i < ids.length; i++) {
+      if (i == 0 || ids[i] != ids[i - 1]) {
+        ids[count++] = ids[i];
+      }
+    }
+
+    return count == ids.length ? ids : Arrays.copyOf(ids, count);
+  }
+}
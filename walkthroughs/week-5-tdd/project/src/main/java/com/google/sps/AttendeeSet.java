@@ -0,0 +1,90 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A read-only set of attendee IDs from the {@code AttendeeDictionary}, stored as a bitmap with one
+ * bit per ID. Checking whether an event's attendees share a person with the set is a bit test per
+ * event attendee, with no hashing.
+ */
+public final class AttendeeSet {
+  private final int[] ids;
+  private final long[] bits;
+
+  private AttendeeSet(int[] ids) {
+    this.ids = ids;
+    this.bits = new long[ids.length == 0 ? 0 : ids[ids.length - 1] / Long.SIZE + 1];
+    for (int id : ids) {
+      bits[id / Long.SIZE] |= 1L << id;
+    }
+  }
+
+  /**
+   * Creates a set of the IDs of {@code names}. Names that the dictionary has never seen are left
+   * out: nobody with such a name attends an event, so they cannot change whether an event shares an
+   * attendee with the set.
+   */
+  public static AttendeeSet of(Collection<String> names) {
+    return new AttendeeSet(AttendeeDictionary.findIds(names));
+  }
+
+  /**
+   * Returns the number of attendees in the set.
+   */
+  public int size() {
+    return ids.length;
+  }
+
+  public boolean isEmpty() {
+    return ids.length == 0;
+  }
+
+  /**
+   * Returns the sorted IDs in the set.
+   */
+  public int[] getIds() {
+    return Arrays.copyOf(ids, ids.length);
+  }
+
+  /**
+   * Checks if the attendee with {@code id} is in the set.
+   */
+  public boolean contains(int id) {
+    int word = id / Long.SIZE;
+    return id >= 0 && word < bits.length && (bits[word] & (1L << id)) != 0;
+  }
+
+  /**
+   * Checks if at least one of {@code ids} is in the set.
+   */
+  public boolean containsAny(int[] ids) {
+    for (int id : ids) {
+      if (contains(id)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Checks if at least one of {@code event}'s attendees is in the set.
+   */
+  public boolean containsAnyAttendee(Event event) {
+    return containsAny(event.getAttendeeIds());
+  }
+}
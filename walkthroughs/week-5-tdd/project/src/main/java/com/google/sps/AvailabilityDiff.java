@@ -0,0 +1,114 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * How the availability of some attendees changed between two versions of a calendar. For each
+ * attendee whose availability changed, it holds the times they became busy and the times they
+ * became free. A diff from no version at all is a reset, which lists all of each attendee's busy
+ * times, and in which attendees who are not listed are free all day.
+ */
+public final class AvailabilityDiff {
+  private final long version;
+  private final boolean reset;
+  private final Map<String, AttendeeChange> changes;
+
+  /**
+   * The times one attendee became busy and the times they became free, each sorted by start time.
+   */
+  public static final class AttendeeChange {
+    private final List<TimeRange> busy;
+    private final List<TimeRange> free;
+
+    AttendeeChange(List<TimeRange> busy, List<TimeRange> free) {
+      this.busy = busy;
+      this.free = free;
+    }
+
+    public List<TimeRange> getBusy() {
+      return Collections.unmodifiableList(busy);
+    }
+
+    public List<TimeRange> getFree() {
+      return Collections.unmodifiableList(free);
+    }
+  }
+
+  private AvailabilityDiff(long version, boolean reset, Map<String, AttendeeChange> changes) {
+    this.version = version;
+    this.reset = reset;
+    this.changes = changes;
+  }
+
+  /**
+   * Returns how the availability of {@code attendees} changed from {@code from} to {@code to}. If
+   * {@code from} is null, the diff is a reset. Only attendees whose events are no longer shared
+   * between the two snapshots have their busy times compared, so attendees that a change did not
+   * touch cost a reference comparison.
+   */
+  public static AvailabilityDiff between(CalendarSnapshot from, CalendarSnapshot to,
+      Collection<String> attendees) {
+    Map<String, AttendeeChange> changes = new LinkedHashMap<>();
+    for (String attendee : attendees) {
+      if (from != null && from.getIndex().hasSameEvents(to.getIndex(), attendee)) {
+        continue;
+      }
+
+      TimeRangeList oldBusyTimes =
+          from == null ? new TimeRangeList() : from.getIndex().getBusyTimes(attendee);
+      TimeRangeList newBusyTimes = to.getIndex().getBusyTimes(attendee);
+      List<TimeRange> busy = newBusyTimes.subtract(oldBusyTimes).toTimeRanges();
+      List<TimeRange> free = oldBusyTimes.subtract(newBusyTimes).toTimeRanges();
+      if (!busy.isEmpty() || !free.isEmpty()) {
+        changes.put(attendee, new AttendeeChange(busy, free));
+      }
+    }
+    return new AvailabilityDiff(to.getVersion(), from == null, changes);
+  }
+
+  /**
+   * Returns the version of the calendar that the diff leads to.
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Checks if the diff is from no version at all rather than from an earlier version.
+   */
+  public boolean isReset() {
+    return reset;
+  }
+
+  /**
+   * Checks if no attendee's availability changed.
+   */
+  public boolean isEmpty() {
+    return changes.isEmpty();
+  }
+
+  /**
+   * Returns a read-only map from each attendee whose availability changed to how it changed.
+   */
+  public Map<String, AttendeeChange> getChanges() {
+    return Collections.unmodifiableMap(changes);
+  }
+}
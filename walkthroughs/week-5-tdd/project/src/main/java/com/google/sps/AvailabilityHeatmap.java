@@ -0,0 +1,107 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+
+/**
+ * How many of a group of attendees are free at each minute of the day. Neighbouring minutes often
+ * have the same count, so the counts are stored run-length encoded: run {@code i} is
+ * {@code lengths[i]} minutes long, starting where run {@code i - 1} ends, and has
+ * {@code freeCounts[i]} attendees free. The fields are serialized to JSON as they are.
+ */
+public final class AvailabilityHeatmap {
+  private final int attendees;
+  private final int[] lengths;
+  private final int[] freeCounts;
+
+  private AvailabilityHeatmap(int attendees, int[] lengths, int[] freeCounts) {
+    this.attendees = attendees;
+    this.lengths = lengths;
+    this.freeCounts = freeCounts;
+  }
+
+  /**
+   * Creates a heatmap of {@code attendees} attendees from the number of them free at each minute.
+   */
+  static AvailabilityHeatmap fromMinutes(int attendees, int[] freeAtMinute) {
+    int[] lengths = new int[freeAtMinute.length];
+    int[] freeCounts = new int[freeAtMinute.length];
+    int runs = 0;
+    for (int minute = 0; minute < freeAtMinute.length; minute++) {
+      if (runs > 0 && freeCounts[runs - 1] == freeAtMinute[minute]) {
+        lengths[runs - 1]++;
+      } else {
+        lengths[runs] = 1;
+        freeCounts[runs] = freeAtMinute[minute];
+        runs++;
+      }
+    }
+    return new AvailabilityHeatmap(attendees, Arrays.copyOf(lengths, runs),
+        Arrays.copyOf(freeCounts, runs));
+  }
+
+  /**
+   * Returns the number of attendees in the group.
+   */
+  public int getAttendees() {
+    return attendees;
+  }
+
+  /**
+   * Returns the number of runs of minutes with the same number of attendees free.
+   */
+  public int getRunCount() {
+    return lengths.length;
+  }
+
+  /**
+   * Returns the number of attendees free at {@code minute}.
+   */
+  public int getFreeCount(int minute) {
+    if (minute < 0) {
+      throw new IllegalArgumentException("minute cannot be negative");
+    }
+
+    for (int i = 0; i < lengths.length; i++) {
+      if (minute < lengths[i]) {
+        return freeCounts[i];
+      }
+      minute -= lengths[i];
+    }
+    throw new IllegalArgumentException("minute must be within the day");
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof AvailabilityHeatmap && equals(this, (AvailabilityHeatmap) other);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(lengths) ^ Arrays.hashCode(freeCounts);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d attendees, lengths %s, free %s", attendees, Arrays.toString(lengths),
+        Arrays.toString(freeCounts));
+  }
+
+  private static boolean equals(AvailabilityHeatmap a, AvailabilityHeatmap b) {
+    return a.attendees == b.attendees && Arrays.equals(a.lengths, b.lengths)
+        && Arrays.equals(a.freeCounts, b.freeCounts);
+  }
+}
@@ -0,0 +1,196 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A {@code MeetingQuery} that represents a day as a mask of 1440 bits, one per minute, packed into
+ * 23 longs. A set bit means that someone in the group is busy during that minute. Busy times of
+ * different attendees are combined with a word-wide OR, so the cost of combining schedules does
+ * not depend on how many events overlap.
+ *
+ * <p>Returns the same time ranges as {@code FindMeetingQuery}. Events with no duration do not
+ * occupy any minute, but like in {@code FindMeetingQuery} they split the available time range
+ * they fall inside into the part before them and the part from them on. They are kept in a
+ * second mask with the bit of their start minute set.
+ */
+public final class BitsetMeetingQuery implements MeetingQuery {
+  private static final int MINUTES_PER_DAY = TimeRange.WHOLE_DAY.duration();
+  private static final int WORDS_PER_DAY = (MINUTES_PER_DAY + Long.SIZE - 1) / Long.SIZE;
+
+  @Override
+  public Collection<TimeRange> query(Collection<Event> events, MeetingRequest request) {
+    long duration = request.getDuration();
+
+    // Do not provide any time options if the meeting requested is longer than a whole day.
+    if (duration > MINUTES_PER_DAY) {
+      return Arrays.asList();
+    }
+
+    AttendeeSet mandatoryAttendees = request.getAttendeeSet();
+    AttendeeSet optionalAttendees = request.getOptionalAttendeeSet();
+
+    long[] mandatoryBusy = new long[WORDS_PER_DAY];
+    long[] optionalBusy = new long[WORDS_PER_DAY];
+    long[] mandatorySplits = new long[WORDS_PER_DAY];
+    long[] optionalSplits = new long[WORDS_PER_DAY];
+    boolean hasMandatoryEvents = false;
+
+    for (Event event : events) {
+      if (mandatoryAttendees.containsAnyAttendee(event)) {
+        mark(mandatoryBusy, mandatorySplits, event.getWhen());
+        hasMandatoryEvents = true;
+      } else if (optionalAttendees.containsAnyAttendee(event)) {
+        mark(optionalBusy, optionalSplits, event.getWhen());
+      }
+    }
+
+    // If there's no mandatory attendees, only consider optional attendees.
+    if (!hasMandatoryEvents) {
+      return findFreeRanges(optionalBusy, optionalSplits, duration);
+    }
+
+    long[] everyoneBusy = new long[WORDS_PER_DAY];
+    long[] everyoneSplits = new long[WORDS_PER_DAY];
+    for (int i = 0; i < WORDS_PER_DAY; i++) {
+      everyoneBusy[i] = mandatoryBusy[i] | optionalBusy[i];
+      everyoneSplits[i] = mandatorySplits[i] | optionalSplits[i];
+    }
+
+    // Return time slots where both mandatory and optional attendees are available, if any.
+    List<TimeRange> everyoneTimes = findFreeRanges(everyoneBusy, everyoneSplits, duration);
+    if (!everyoneTimes.isEmpty()) {
+      return everyoneTimes;
+    }
+
+    return findFreeRanges(mandatoryBusy, mandatorySplits, duration);
+  }
+
+  /**
+   * Marks the minutes of {@code range} in {@code busy}, or its start in {@code splits} if it has
+   * no duration.
+   */
+  private static void mark(long[] busy, long[] splits, TimeRange range) {
+    if (range.duration() > 0) {
+      markBusy(busy, range);
+    } else if (range.start() >= 0 && range.start() < MINUTES_PER_DAY) {
+      splits[range.start() / Long.SIZE] |= 1L << range.start();
+    }
+  }
+
+  /**
+   * Sets the bit of every minute in {@code range} that falls within the day.
+   */
+  private static void markBusy(long[] mask, TimeRange range) {
+    int start = Math.max(range.start(), 0);
+    int end = Math.min(range.end(), MINUTES_PER_DAY);
+    if (start >= end) {
+      return;
+    }
+
+    int firstWord = start / Long.SIZE;
+    int lastWord = (end - 1) / Long.SIZE;
+
+    // Shifts only use the low six bits of the distance, so these are the bits from start upwards
+    // and the bits below end within their words.
+    long firstWordMask = -1L << start;
+    long lastWordMask = -1L >>> -end;
+
+    if (firstWord == lastWord) {
+      mask[firstWord] |= firstWordMask & lastWordMask;
+      return;
+    }
+
+    mask[firstWord] |= firstWordMask;
+    for (int i = firstWord + 1; i < lastWord; i++) {
+      mask[i] = -1L;
+    }
+    mask[lastWord] |= lastWordMask;
+  }
+
+  /**
+   * Returns the runs of clear bits in {@code busy} that are at least {@code duration} minutes long,
+   * ordered by start time. A run is split at every set bit of {@code splits} after its first
+   * minute.
+   */
+  private static List<TimeRange> findFreeRanges(long[] busy, long[] splits, long duration) {
+    List<TimeRange> times = new ArrayList<>();
+
+    int start = nextClearMinute(busy, 0);
+    while (start < MINUTES_PER_DAY) {
+      int end = nextSetMinute(busy, start);
+      for (int split = nextSetMinute(splits, start + 1); split < end;
+          split = nextSetMinute(splits, split + 1)) {
+        addIfLongEnough(times, start, split, duration);
+        start = split;
+      }
+      addIfLongEnough(times, start, end, duration);
+      start = nextClearMinute(busy, end);
+    }
+
+    return times;
+  }
+
+  private static void addIfLongEnough(List<TimeRange> times, int start, int end, long duration) {
+    if (end - start >= duration) {
+      times.add(TimeRange.fromStartEnd(start, end, false));
+    }
+  }
+
+  /**
+   * Returns the first minute at or after {@code from} whose bit is set in {@code mask}, or the end
+   * of the day if there is none.
+   */
+  private static int nextSetMinute(long[] mask, int from) {
+    if (from >= MINUTES_PER_DAY) {
+      return MINUTES_PER_DAY;
+    }
+
+    int index = from / Long.SIZE;
+    long word = mask[index] & (-1L << from);
+    while (word == 0) {
+      if (++index == WORDS_PER_DAY) {
+        return MINUTES_PER_DAY;
+      }
+      word = mask[index];
+    }
+
+    return Math.min(index * Long.SIZE + Long.numberOfTrailingZeros(word), MINUTES_PER_DAY);
+  }
+
+  /**
+   * Returns the first free minute at or after {@code from}, or the end of the day if there is none.
+   */
+  private static int nextClearMinute(long[] busy, int from) {
+    if (from >= MINUTES_PER_DAY) {
+      return MINUTES_PER_DAY;
+    }
+
+    int index = from / Long.SIZE;
+    long word = ~busy[index] & (-1L << from);
+    while (word == 0) {
+      if (++index == WORDS_PER_DAY) {
+        return MINUTES_PER_DAY;
+      }
+      word = ~busy[index];
+    }
+
+    return Math.min(index * Long.SIZE + Long.numberOfTrailingZeros(word), MINUTES_PER_DAY);
+  }
+}
@@ -0,0 +1,113 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * An event that takes place at a specific point in time, which may span several days. It is the
+ * counterpart of {@code Event}, which only knows about minutes within one day. Calendar events are
+ * considered read-only.
+ */
+public final class CalendarEvent {
+  private final String title;
+  private final EpochRange when;
+  private final Set<String> attendees = new HashSet<>();
+
+  /**
+   * A comparator for sorting events by their start time in ascending order.
+   */
+  public static final Comparator<CalendarEvent> ORDER_BY_START = new Comparator<CalendarEvent>() {
+    @Override
+    public int compare(CalendarEvent a, CalendarEvent b) {
+      return Long.compare(a.when.start(), b.when.start());
+    }
+  };
+
+  /**
+   * Creates a new calendar event.
+   *
+   * @param title The human-readable name for the event. Must be non-null.
+   * @param when The time when the event takes place. Must be non-null.
+   * @param attendees The collection of people attending the event. Must be non-null.
+   */
+  public CalendarEvent(String title, EpochRange when, Collection<String> attendees) {
+    if (title == null) {
+      throw new IllegalArgumentException("title cannot be null");
+    }
+
+    if (when == null) {
+      throw new IllegalArgumentException("when cannot be null");
+    }
+
+    if (attendees == null) {
+      throw new IllegalArgumentException("attendees cannot be null. Use empty array instead.");
+    }
+
+    this.title = title;
+    this.when = when;
+    this.attendees.addAll(attendees);
+  }
+
+  /**
+   * Creates a calendar event for {@code event} taking place on {@code date} in {@code zone}.
+   */
+  public static CalendarEvent fromEvent(Event event, LocalDate date, ZoneId zone) {
+    return new CalendarEvent(event.getTitle(),
+        EpochRange.fromLocalTimes(date, event.getWhen(), zone), event.getAttendees());
+  }
+
+  /**
+   * Returns the human-readable name for this event.
+   */
+  public String getTitle() {
+    return title;
+  }
+
+  /**
+   * Returns the {@code EpochRange} for when this event occurs.
+   */
+  public EpochRange getWhen() {
+    return when;
+  }
+
+  /**
+   * Returns a read-only set of required attendees for this event.
+   */
+  public Set<String> getAttendees() {
+    return Collections.unmodifiableSet(attendees);
+  }
+
+  @Override
+  public int hashCode() {
+    // Like {@code Event}, just use the title to skip most of the costly {@code equals()} calls.
+    return title.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof CalendarEvent && equals(this, (CalendarEvent) other);
+  }
+
+  private static boolean equals(CalendarEvent a, CalendarEvent b) {
+    return a.title.equals(b.title) && a.when.equals(b.when) && a.attendees.equals(b.attendees);
+  }
+}
@@ -0,0 +1,52 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+/**
+ * One version of a {@code SnapshotCalendar}. A snapshot never changes, so a query that reads
+ * everything from the same snapshot sees a consistent calendar even while it is being changed.
+ */
+public final class CalendarSnapshot {
+  private final long version;
+  private final int size;
+  private final EventIndex index;
+
+  CalendarSnapshot(long version, int size, EventIndex index) {
+    this.version = version;
+    this.size = size;
+    this.index = index;
+  }
+
+  /**
+   * Returns the version of the calendar, which increases with every change.
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Returns the number of events in the calendar.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the index of the events in the calendar.
+   */
+  public EventIndex getIndex() {
+    return index;
+  }
+}
@@ -0,0 +1,180 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A span of time that is not tied to a single day. Unlike {@code TimeRange}, which counts minutes
+ * from the start of one day, the bounds are minutes since the epoch (1970-01-01T00:00Z), so a
+ * range can cover several days, and ranges in different time zones can be compared directly. The
+ * same rules as {@code TimeRange} apply: the end is the closing exclusive bound, and
+ * {@code overlaps} and {@code contains} give the same answers.
+ */
+public final class EpochRange {
+  private static final long SECONDS_PER_MINUTE = TimeUnit.MINUTES.toSeconds(1);
+
+  private final long start;
+  private final long end;
+
+  private EpochRange(long start, long end) {
+    this.start = start;
+    this.end = end;
+  }
+
+  /**
+   * Returns the start of the range in minutes since the epoch.
+   */
+  public long start() {
+    return start;
+  }
+
+  /**
+   * Returns the end of the range in minutes since the epoch. This ending value is the closing
+   * exclusive bound.
+   */
+  public long end() {
+    return end;
+  }
+
+  /**
+   * Returns the number of minutes between the start and end.
+   */
+  public long duration() {
+    return end - start;
+  }
+
+  /**
+   * Returns the start of the range as an {@code Instant}.
+   */
+  public Instant startInstant() {
+    return Instant.ofEpochSecond(start * SECONDS_PER_MINUTE);
+  }
+
+  /**
+   * Returns the end of the range as an {@code Instant}.
+   */
+  public Instant endInstant() {
+    return Instant.ofEpochSecond(end * SECONDS_PER_MINUTE);
+  }
+
+  /**
+   * Checks if two ranges overlap. This means that at least some part of one range falls within the
+   * bounds of another range.
+   */
+  public boolean overlaps(EpochRange other) {
+    // For two ranges to overlap, one range must contain the start of another range.
+    return this.contains(other.start) || other.contains(this.start);
+  }
+
+  /**
+   * Checks if this range completely contains another range. This is an inclusive bounds, meaning
+   * that if two ranges are the same, they contain each other.
+   */
+  public boolean contains(EpochRange other) {
+    // If this range has no duration, it cannot contain anything.
+    if (duration() <= 0) {
+      return false;
+    }
+
+    // If the other range has no duration, then we must treat it like a point in time rather than a
+    // range.
+    if (other.duration() <= 0) {
+      return contains(other.start);
+    }
+
+    return contains(other.start) && contains(other.end - 1);
+  }
+
+  /**
+   * Checks if this range contains the minute {@code point}, counted since the epoch.
+   */
+  public boolean contains(long point) {
+    return duration() > 0 && point >= start && point < end;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof EpochRange
+        && start == ((EpochRange) other).start
+        && end == ((EpochRange) other).end;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(start) ^ Long.hashCode(end);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Range: [%s, %s)", startInstant(), endInstant());
+  }
+
+  /**
+   * Creates an {@code EpochRange} from {@code start} to {@code end}, both in minutes since the
+   * epoch. {@code end} is not included in the range.
+   */
+  public static EpochRange fromStartEnd(long start, long end) {
+    if (end < start) {
+      throw new IllegalArgumentException("end cannot come before start");
+    }
+    return new EpochRange(start, end);
+  }
+
+  /**
+   * Creates an {@code EpochRange} starting at {@code start}, in minutes since the epoch, with a
+   * duration equal to {@code duration}.
+   */
+  public static EpochRange fromStartDuration(long start, long duration) {
+    return fromStartEnd(start, start + duration);
+  }
+
+  /**
+   * Creates an {@code EpochRange} between two instants, rounding both down to the minute.
+   */
+  public static EpochRange fromInstants(Instant start, Instant end) {
+    return fromStartEnd(toEpochMinute(start), toEpochMinute(end));
+  }
+
+  /**
+   * Creates an {@code EpochRange} for {@code range} on {@code date} in {@code zone}. The bounds of
+   * {@code range} are read as local wall-clock times, so 9:00 stays 9:00 on days when daylight
+   * saving time starts or ends.
+   */
+  public static EpochRange fromLocalTimes(LocalDate date, TimeRange range, ZoneId zone) {
+    return fromStartEnd(toEpochMinute(date, range.start(), zone),
+        toEpochMinute(date, range.end(), zone));
+  }
+
+  /**
+   * Creates an {@code EpochRange} covering {@code days} whole days in {@code zone}, starting at the
+   * beginning of {@code firstDay}.
+   */
+  public static EpochRange fromDays(LocalDate firstDay, int days, ZoneId zone) {
+    return fromStartEnd(toEpochMinute(firstDay, 0, zone),
+        toEpochMinute(firstDay.plusDays(days), 0, zone));
+  }
+
+  private static long toEpochMinute(LocalDate date, int minuteOfDay, ZoneId zone) {
+    return toEpochMinute(date.atStartOfDay().plusMinutes(minuteOfDay).atZone(zone).toInstant());
+  }
+
+  private static long toEpochMinute(Instant instant) {
+    return Math.floorDiv(instant.getEpochSecond(), SECONDS_PER_MINUTE);
+  }
+}
@@ -14,10 +14,12 @@
 
 package com.google.sps;
 
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.Comparator;
 
 /**
@@ -27,15 +29,22 @@ import java.util.Comparator;
 public final class Event {
   private final String title;
   private final TimeRange when;
-  private final Set<String> attendees = new HashSet<>();
+
+  // The attendees' names, sorted and without duplicates. An array takes much less memory than a
+  // set, and the read-only view returned by {@code getAttendees} can binary search it.
+  private final String[] attendees;
+
+  // The attendees' IDs from the {@code AttendeeDictionary}, sorted. Transient so that it is not
+  // sent to the client, and computed again if the event was not created through the constructor.
+  private transient int[] attendeeIds;
 
   /**
    * A comparator for sorting events by their start time in ascending order.
    */
   public static final Comparator<Event> ORDER_BY_START = new Comparator<Event>() {
-    //@Override
+    @Override
     public int compare(Event a, Event b) {
-      return ((Integer) a.getWhen().start()).compareTo((Integer) b.getWhen().start());
+      return Integer.compare(a.getWhen().start(), b.getWhen().start());
     }
   };
 
@@ -44,7 +53,8 @@ public final class Event {
    *
    * @param title The human-readable name for the event. Must be non-null.
    * @param when The time when the event takes place. Must be non-null.
-   * @param attendees The collection of people attending the event. Must be non-null.
+   * @param attendees The collection of people attending the event. Must be non-null, and so must
+   *     each of its names.
    */
   public Event(String title, TimeRange when, Collection<String> attendees) {
     if (title == null) {
@@ -59,9 +69,16 @@ public final class Event {
       throw new IllegalArgumentException("attendees cannot be null. Use empty array instead.");
     }
 
+    for (String attendee : attendees) {
+      if (attendee == null) {
+        throw new IllegalArgumentException("attendees cannot contain null");
+      }
+    }
+
     this.title = title;
     this.when = when;
-    this.attendees.addAll(attendees);
+    this.attendees = new TreeSet<>(attendees).toArray(new String[0]);
+    this.attendeeIds = AttendeeDictionary.idsOf(Arrays.asList(this.attendees));
   }
 
   /**
@@ -82,16 +99,26 @@ public final class Event {
    * Returns a read-only set of required attendees for this event.
    */
   public Set<String> getAttendees() {
-    // Return the attendees as an unmodifiable set so that the caller can't change our
-    // internal data.
-    return Collections.unmodifiableSet(attendees);
+    // Return the attendees as a read-only view so that the caller can't change our internal data.
+    return new AttendeeNames(attendees);
+  }
+
+  /**
+   * Returns the sorted IDs of this event's attendees. The array is shared, so callers must not
+   * modify it.
+   */
+  int[] getAttendeeIds() {
+    if (attendeeIds == null) {
+      attendeeIds = AttendeeDictionary.idsOf(Arrays.asList(attendees));
+    }
+    return attendeeIds;
   }
 
   @Override
   public int hashCode() {
-    // For the hash code, just use the title. Most events "should" have different names and will
-    // mainly be used as a way to skip the costly {@code equals()} call.
-    return title.hashCode();
+    // Recurring events often share a title, so the time and attendees are hashed too. Otherwise a
+    // set of many imported events would put all of each title's events in the same bucket.
+    return (title.hashCode() * 31 + when.hashCode()) * 31 + Arrays.hashCode(attendees);
   }
 
   @Override
@@ -100,8 +127,35 @@ public final class Event {
   }
 
   private static boolean equals(Event a, Event b) {
-    // {@code attendees} must be a set for equals to work as expected. According to the {@code Set}
-    // interface documentation, equals will check for set-equality across all set implementations.
-    return a.title.equals(b.title) && a.when.equals(b.when) && a.attendees.equals(b.attendees);
+    // {@code attendees} is sorted and has no duplicates, so equal arrays mean equal sets.
+    return a.title.equals(b.title) && a.when.equals(b.when)
+        && Arrays.equals(a.attendees, b.attendees);
+  }
+
+  /**
+   * A read-only set view of a sorted array of names.
+   */
+  private static final class AttendeeNames extends AbstractSet<String> {
+    private final String[] names;
+
+    AttendeeNames(String[] names) {
+      this.names = names;
+    }
+
+    @Override
+    public boolean contains(Object name) {
+      return name instanceof String && Arrays.binarySearch(names, name) >= 0;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+      // The fixed-size list throws if the caller tries to remove a name.
+      return Arrays.asList(names).iterator();
+    }
+
+    @Override
+    public int size() {
+      return names.length;
+    }
   }
 }
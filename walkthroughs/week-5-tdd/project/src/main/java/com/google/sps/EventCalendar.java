@@ -0,0 +1,100 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The events of a calendar that spans many days: one-off events, kept in an
+ * {@code EventIntervalTree}, and recurring events, whose occurrences are only created for the
+ * windows that are looked up. Recurring events are also indexed by attendee, so that looking up
+ * the events of a few people only expands their own series. A calendar is read-only once it has
+ * been created.
+ */
+public final class EventCalendar {
+  private final EventIntervalTree events;
+  private final List<RecurringEvent> recurringEvents;
+  private final Map<String, List<RecurringEvent>> recurringEventsByAttendee = new HashMap<>();
+
+  /**
+   * Creates a calendar.
+   *
+   * @param events The one-off events. Must be non-null.
+   * @param recurringEvents The recurring events. Must be non-null.
+   */
+  public EventCalendar(Collection<CalendarEvent> events,
+      Collection<RecurringEvent> recurringEvents) {
+    if (recurringEvents == null) {
+      throw new IllegalArgumentException("recurringEvents cannot be null");
+    }
+
+    this.events = new EventIntervalTree(events);
+    this.recurringEvents = new ArrayList<>(recurringEvents);
+    for (RecurringEvent recurringEvent : recurringEvents) {
+      for (String attendee : recurringEvent.getAttendees()) {
+        recurringEventsByAttendee.computeIfAbsent(attendee, key -> new ArrayList<>())
+            .add(recurringEvent);
+      }
+    }
+  }
+
+  /**
+   * Returns the one-off events and the occurrences of recurring events that overlap
+   * {@code window}, sorted by start time.
+   */
+  public List<CalendarEvent> findOverlapping(EpochRange window) {
+    return withOccurrences(events.findOverlapping(window), recurringEvents, window);
+  }
+
+  /**
+   * Same as {@link #findOverlapping(EpochRange)}, except that only the recurring events that one
+   * of {@code attendees} attends are expanded. One-off events are returned whoever attends them.
+   */
+  public List<CalendarEvent> findOverlapping(EpochRange window, Collection<String> attendees) {
+    Set<RecurringEvent> attended =
+        Collections.newSetFromMap(new IdentityHashMap<RecurringEvent, Boolean>());
+    List<RecurringEvent> series = new ArrayList<>();
+    for (String attendee : attendees) {
+      for (RecurringEvent recurringEvent :
+          recurringEventsByAttendee.getOrDefault(attendee, Collections.emptyList())) {
+        if (attended.add(recurringEvent)) {
+          series.add(recurringEvent);
+        }
+      }
+    }
+    return withOccurrences(events.findOverlapping(window), series, window);
+  }
+
+  private static List<CalendarEvent> withOccurrences(List<CalendarEvent> overlapping,
+      List<RecurringEvent> series, EpochRange window) {
+    if (series.isEmpty()) {
+      return overlapping;
+    }
+
+    overlapping = new ArrayList<>(overlapping);
+    for (RecurringEvent recurringEvent : series) {
+      overlapping.addAll(recurringEvent.findOccurrences(window));
+    }
+    Collections.sort(overlapping, CalendarEvent.ORDER_BY_START);
+    return overlapping;
+  }
+}
@@ -0,0 +1,436 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Reads events in bulk from an export. The input is read one line at a time and each record is
+ * handed on as soon as it has been read, so the input is never held as a whole. Records that are
+ * equal to an earlier event, as decided by {@link Event#equals}, are found with a hash set rather
+ * than by comparing pairs of events. The set holds every distinct event of the import until it
+ * ends, so memory grows with the number of distinct events. Records that cannot be read are
+ * counted and skipped.
+ *
+ * <p>Events only have a time of day, so the date of every time in the input is dropped, and
+ * events that end on a later day than they start end at the end of the day.
+ */
+public final class EventImporter {
+  private static final int MINUTES_PER_DAY = TimeRange.WHOLE_DAY.duration();
+
+  /**
+   * The formats that events can be imported from.
+   */
+  public enum Format {
+    /**
+     * iCalendar (RFC 5545). Each VEVENT's SUMMARY is its title, DTSTART and DTEND are its time,
+     * and each ATTENDEE is named by its CN parameter, or by its address if it has none.
+     */
+    ICALENDAR,
+
+    /**
+     * Comma-separated values with a header line and the columns {@code title}, {@code start},
+     * {@code end} and {@code attendees}. Times are written as {@code HH:MM}, attendees are
+     * separated by semicolons, and fields may be quoted. Quoted fields cannot span lines.
+     */
+    CSV,
+
+    /**
+     * One JSON event per line, in the form the servlets send events in.
+     */
+    JSON_LINES
+  }
+
+  private static final Gson gson = new Gson();
+
+  private final Format format;
+
+  public EventImporter(Format format) {
+    if (format == null) {
+      throw new IllegalArgumentException("format cannot be null");
+    }
+
+    this.format = format;
+  }
+
+  /**
+   * Reads the events in {@code input} and passes each distinct one to {@code sink}, in the order
+   * they were read. The reader is not closed.
+   */
+  public ImportSummary importEvents(Reader input, Consumer<Event> sink) throws IOException {
+    LineReader lines = new LineReader(input);
+    Import result = new Import(sink);
+    switch (format) {
+      case ICALENDAR:
+        readICalendar(lines, result);
+        break;
+      case CSV:
+        readCsv(lines, result);
+        break;
+      case JSON_LINES:
+        readJsonLines(lines, result);
+        break;
+    }
+    return result.summarize();
+  }
+
+  private static void readJsonLines(LineReader lines, Import result) throws IOException {
+    for (String line = lines.next(); line != null; line = lines.next()) {
+      if (line.trim().isEmpty()) {
+        continue;
+      }
+
+      try {
+        EventJson json = gson.fromJson(line, EventJson.class);
+        if (json == null || json.title == null || json.when == null || json.attendees == null) {
+          result.reject();
+          continue;
+        }
+        result.accept(new Event(json.title,
+            toTimeRange(json.when.start(), json.when.start() + json.when.duration()),
+            json.attendees));
+      } catch (JsonParseException | IllegalArgumentException e) {
+        result.reject();
+      }
+    }
+  }
+
+  private static void readCsv(LineReader lines, Import result) throws IOException {
+    // Skip the header.
+    lines.next();
+
+    for (String line = lines.next(); line != null; line = lines.next()) {
+      if (line.trim().isEmpty()) {
+        continue;
+      }
+
+      try {
+        List<String> fields = splitCsv(line);
+        if (fields.size() != 4) {
+          result.reject();
+          continue;
+        }
+
+        List<String> attendees = new ArrayList<>();
+        for (String attendee : fields.get(3).split(";")) {
+          if (!attendee.trim().isEmpty()) {
+            attendees.add(attendee.trim());
+          }
+        }
+        result.accept(new Event(fields.get(0),
+            toTimeRange(parseTime(fields.get(1)), parseTime(fields.get(2))), attendees));
+      } catch (IllegalArgumentException e) {
+        result.reject();
+      }
+    }
+  }
+
+  private static void readICalendar(LineReader lines, Import result) throws IOException {
+    boolean inEvent = false;
+    String title = null;
+    String start = null;
+    String end = null;
+    List<String> attendees = new ArrayList<>();
+
+    for (String line = lines.nextUnfolded(); line != null; line = lines.nextUnfolded()) {
+      int colon = findValueStart(line);
+      if (colon < 0) {
+        continue;
+      }
+      String[] nameAndParameters = line.substring(0, colon).split(";");
+      String name = nameAndParameters[0].toUpperCase();
+      String value = line.substring(colon + 1);
+
+      if (name.equals("BEGIN") && value.equalsIgnoreCase("VEVENT")) {
+        inEvent = true;
+        title = null;
+        start = null;
+        end = null;
+        attendees.clear();
+      } else if (!inEvent) {
+        continue;
+      } else if (name.equals("END") && value.equalsIgnoreCase("VEVENT")) {
+        inEvent = false;
+        try {
+          result.accept(new Event(title == null ? "" : title, parseICalendarTimes(start, end),
+              attendees));
+        } catch (IllegalArgumentException e) {
+          result.reject();
+        }
+      } else if (name.equals("SUMMARY")) {
+        title = unescape(value);
+      } else if (name.equals("DTSTART")) {
+        start = value;
+      } else if (name.equals("DTEND")) {
+        end = value;
+      } else if (name.equals("ATTENDEE")) {
+        attendees.add(attendeeName(nameAndParameters, value));
+      }
+    }
+  }
+
+  /**
+   * Returns the time of day from DTSTART to DTEND. Dates without a time are whole days, and an
+   * event without an end takes no time, or the whole day if it starts on a date.
+   */
+  private static TimeRange parseICalendarTimes(String start, String end) {
+    if (start == null) {
+      throw new IllegalArgumentException("an event needs a DTSTART");
+    }
+
+    int startMinute = parseICalendarTime(start);
+    if (end == null) {
+      return toTimeRange(startMinute, isDate(start) ? MINUTES_PER_DAY : startMinute);
+    }
+
+    // Events that end on a later date end at the end of the day.
+    int endMinute = parseICalendarTime(end);
+    if (end.substring(0, 8).compareTo(start.substring(0, 8)) > 0) {
+      endMinute = MINUTES_PER_DAY;
+    }
+    return toTimeRange(startMinute, endMinute);
+  }
+
+  /**
+   * Returns the time from {@code start} to {@code end}, which must be within the day and in order.
+   */
+  private static TimeRange toTimeRange(int start, int end) {
+    if (start < 0 || end < start || end > MINUTES_PER_DAY) {
+      throw new IllegalArgumentException("not a time of the day: " + start + " to " + end);
+    }
+    return TimeRange.fromStartEnd(start, end, false);
+  }
+
+  /**
+   * Returns the minute of the day of an iCalendar date or date-time, such as
+   * {@code 20200101T093000Z}.
+   */
+  private static int parseICalendarTime(String value) {
+    if (value.length() < 8) {
+      throw new IllegalArgumentException("not a date: " + value);
+    }
+    if (isDate(value)) {
+      return 0;
+    }
+    if (value.length() < 13 || value.charAt(8) != 'T') {
+      throw new IllegalArgumentException("not a date-time: " + value);
+    }
+    return TimeRange.getTimeInMinutes(parseDigits(value, 9, 11), parseDigits(value, 11, 13));
+  }
+
+  private static boolean isDate(String value) {
+    return value.length() == 8;
+  }
+
+  /**
+   * Returns the minute of the day of a time written as {@code HH:MM}. {@code 24:00} is the end of
+   * the day.
+   */
+  private static int parseTime(String value) {
+    String time = value.trim();
+    if (time.length() != 5 || time.charAt(2) != ':') {
+      throw new IllegalArgumentException("not a time: " + value);
+    }
+    int hours = parseDigits(time, 0, 2);
+    int minutes = parseDigits(time, 3, 5);
+    if (hours > 24 || minutes > 59 || (hours == 24 && minutes > 0)) {
+      throw new IllegalArgumentException("not a time: " + value);
+    }
+    return hours * 60 + minutes;
+  }
+
+  private static int parseDigits(String value, int from, int to) {
+    int number = 0;
+    for (int i = from; i < to; i++) {
+      char c = value.charAt(i);
+      if (c < '0' || c > '9') {
+        throw new IllegalArgumentException("not a number: " + value.substring(from, to));
+      }
+      number = number * 10 + (c - '0');
+    }
+    return number;
+  }
+
+  /**
+   * Returns the position of the colon that ends a content line's name and parameters, skipping
+   * colons inside quoted parameter values, or -1 if there is none.
+   */
+  private static int findValueStart(String line) {
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (c == '"') {
+        quoted = !quoted;
+      } else if (c == ':' && !quoted) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static String attendeeName(String[] nameAndParameters, String value) {
+    for (int i = 1; i < nameAndParameters.length; i++) {
+      String parameter = nameAndParameters[i];
+      if (parameter.regionMatches(true, 0, "CN=", 0, 3)) {
+        return parameter.substring(3).replace("\"", "");
+      }
+    }
+    return value.regionMatches(true, 0, "mailto:", 0, 7) ? value.substring(7) : value;
+  }
+
+  private static String unescape(String text) {
+    StringBuilder unescaped = new StringBuilder(text.length());
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == '\\' && i + 1 < text.length()) {
+        c = text.charAt(++i);
+        if (c == 'n' || c == 'N') {
+          c = '\n';
+        }
+      }
+      unescaped.append(c);
+    }
+    return unescaped.toString();
+  }
+
+  /**
+   * Splits a CSV line into its fields. Quoted fields may hold commas and doubled quotes.
+   */
+  private static List<String> splitCsv(String line) {
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else if (c == '"') {
+          quoted = false;
+        } else {
+          field.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+
+    if (quoted) {
+      throw new IllegalArgumentException("unterminated quote");
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+
+  // The JSON form of an event, which Gson fills in without checking that every field is there.
+  private static final class EventJson {
+    String title;
+    TimeRange when;
+    List<String> attendees;
+  }
+
+  /**
+   * Reads lines, and can join iCalendar's folded lines back together.
+   */
+  private static final class LineReader {
+    private final BufferedReader reader;
+    private String pending;
+
+    LineReader(Reader reader) {
+      this.reader =
+          reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    String next() throws IOException {
+      if (pending != null) {
+        String line = pending;
+        pending = null;
+        return line;
+      }
+      return reader.readLine();
+    }
+
+    /**
+     * Returns the next line with the lines that continue it, which start with a space or a tab,
+     * appended to it.
+     */
+    String nextUnfolded() throws IOException {
+      String line = next();
+      if (line == null) {
+        return null;
+      }
+
+      StringBuilder unfolded = new StringBuilder(line);
+      for (String following = next(); following != null; following = next()) {
+        if (following.startsWith(" ") || following.startsWith("\t")) {
+          unfolded.append(following, 1, following.length());
+        } else {
+          pending = following;
+          break;
+        }
+      }
+      return unfolded.toString();
+    }
+  }
+
+  /**
+   * The state of one import: the events seen so far and what happened to each record.
+   */
+  private static final class Import {
+    private final Consumer<Event> sink;
+    private final Set<Event> seen = new HashSet<>();
+    private long read = 0;
+    private long duplicates = 0;
+    private long rejected = 0;
+
+    Import(Consumer<Event> sink) {
+      this.sink = sink;
+    }
+
+    void accept(Event event) {
+      read++;
+      if (seen.add(event)) {
+        sink.accept(event);
+      } else {
+        duplicates++;
+      }
+    }
+
+    void reject() {
+      read++;
+      rejected++;
+    }
+
+    ImportSummary summarize() {
+      return new ImportSummary(read, seen.size(), duplicates, rejected);
+    }
+  }
+}
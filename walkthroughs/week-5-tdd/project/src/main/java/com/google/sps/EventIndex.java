@@ -0,0 +1,327 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An index from each attendee to the events they attend, sorted by start time. The index is built
+ * once so that finding the events of a few people does not require scanning every known event.
+ * Attendees are looked up by their {@code AttendeeDictionary} ID, which is a position in a list.
+ * Like events, an index is read-only once it has been created. Changing the events creates a new
+ * index that shares the events of every attendee the change does not touch.
+ *
+ * <p>Each attendee's merged busy times are computed along with their sorted events, so queries
+ * only combine precomputed lists, and a change only computes them again for the attendees it
+ * touches.
+ */
+public final class EventIndex {
+  private final List<SortedEventArray> eventsByAttendeeId = new ArrayList<>();
+
+  /**
+   * Creates an index of {@code events}.
+   *
+   * @param events The events to index. Must be non-null.
+   */
+  public EventIndex(Collection<Event> events) {
+    if (events == null) {
+      throw new IllegalArgumentException("events cannot be null");
+    }
+
+    Builder builder = new Builder();
+    for (Event event : events) {
+      builder.add(event);
+    }
+    eventsByAttendeeId.addAll(builder.build().eventsByAttendeeId);
+  }
+
+  /**
+   * Collects events one at a time, for example while they are being read, and indexes them when
+   * {@link #build} is called. Events are grouped by attendee as they are added, so building only
+   * sorts each attendee's events.
+   */
+  public static final class Builder {
+    private final List<List<Event>> unsortedEvents = new ArrayList<>();
+    private int size = 0;
+
+    /**
+     * Adds {@code event} to the index being built.
+     */
+    public void add(Event event) {
+      size++;
+      for (int id : event.getAttendeeIds()) {
+        while (unsortedEvents.size() <= id) {
+          unsortedEvents.add(null);
+        }
+
+        List<Event> attendeeEvents = unsortedEvents.get(id);
+        if (attendeeEvents == null) {
+          attendeeEvents = new ArrayList<>();
+          unsortedEvents.set(id, attendeeEvents);
+        }
+        attendeeEvents.add(event);
+      }
+    }
+
+    /**
+     * Returns the number of events added so far, including events without attendees, which are
+     * never indexed.
+     */
+    public int size() {
+      return size;
+    }
+
+    /**
+     * Returns an index of the events added so far.
+     */
+    public EventIndex build() {
+      List<SortedEventArray> eventsByAttendeeId = new ArrayList<>(unsortedEvents.size());
+      for (List<Event> attendeeEvents : unsortedEvents) {
+        eventsByAttendeeId.add(
+            attendeeEvents == null ? null : new SortedEventArray(attendeeEvents));
+      }
+      return new EventIndex(eventsByAttendeeId);
+    }
+  }
+
+  private EventIndex(List<SortedEventArray> eventsByAttendeeId) {
+    this.eventsByAttendeeId.addAll(eventsByAttendeeId);
+  }
+
+  /**
+   * Returns an index of the events in this index and {@code added}. Only the attendees of the
+   * added events have their events sorted again.
+   */
+  public EventIndex withEvents(Collection<Event> added) {
+    return update(added, true);
+  }
+
+  /**
+   * Returns an index of the events in this index and in {@code added}, for example an index that
+   * was built while events were being imported. Each attendee's events are already sorted in both
+   * indexes, so attendees in both have them merged in one pass, and attendees in only one share
+   * their events with it.
+   */
+  public EventIndex withEvents(EventIndex added) {
+    if (added == null) {
+      throw new IllegalArgumentException("events cannot be null");
+    }
+
+    EventIndex index = new EventIndex(eventsByAttendeeId);
+    for (int id = 0; id < added.eventsByAttendeeId.size(); id++) {
+      SortedEventArray addedEvents = added.eventsByAttendeeId.get(id);
+      if (addedEvents == null) {
+        continue;
+      }
+
+      SortedEventArray oldEvents = findEvents(id);
+      while (index.eventsByAttendeeId.size() <= id) {
+        index.eventsByAttendeeId.add(null);
+      }
+      index.eventsByAttendeeId.set(id,
+          oldEvents == null ? addedEvents : oldEvents.mergeWith(addedEvents));
+    }
+    return index;
+  }
+
+  /**
+   * Returns an index of the events in this index except {@code removed}. Only the attendees of the
+   * removed events have their events copied.
+   */
+  public EventIndex withoutEvents(Collection<Event> removed) {
+    return update(removed, false);
+  }
+
+  private EventIndex update(Collection<Event> changed, boolean add) {
+    if (changed == null) {
+      throw new IllegalArgumentException("events cannot be null");
+    }
+
+    Map<Integer, List<Event>> changedByAttendeeId = new HashMap<>();
+    for (Event event : changed) {
+      for (int id : event.getAttendeeIds()) {
+        changedByAttendeeId.computeIfAbsent(id, key -> new ArrayList<>()).add(event);
+      }
+    }
+
+    EventIndex index = new EventIndex(eventsByAttendeeId);
+    for (Map.Entry<Integer, List<Event>> entry : changedByAttendeeId.entrySet()) {
+      int id = entry.getKey();
+      SortedEventArray oldEvents = findEvents(id);
+      List<Event> newEvents =
+          new ArrayList<>(oldEvents == null ? Collections.<Event>emptyList() : oldEvents.asList());
+      if (add) {
+        newEvents.addAll(entry.getValue());
+      } else {
+        for (Event event : entry.getValue()) {
+          newEvents.remove(event);
+        }
+      }
+
+      while (index.eventsByAttendeeId.size() <= id) {
+        index.eventsByAttendeeId.add(null);
+      }
+      index.eventsByAttendeeId.set(id,
+          newEvents.isEmpty() ? null : new SortedEventArray(newEvents));
+    }
+    return index;
+  }
+
+  /**
+   * Checks if the index holds {@code event}. Events without attendees are never indexed.
+   */
+  public boolean contains(Event event) {
+    int[] ids = event.getAttendeeIds();
+    if (ids.length == 0) {
+      return false;
+    }
+
+    SortedEventArray attendeeEvents = findEvents(ids[0]);
+    return attendeeEvents != null && attendeeEvents.contains(event);
+  }
+
+  /**
+   * Returns a read-only list of the events {@code attendee} attends, sorted by start time.
+   */
+  public List<Event> getEvents(String attendee) {
+    SortedEventArray attendeeEvents = findEvents(AttendeeDictionary.findId(attendee));
+    if (attendeeEvents == null) {
+      return Collections.emptyList();
+    }
+    return attendeeEvents.asList();
+  }
+
+  /**
+   * Returns the times when {@code attendee} is busy, sorted by start time with overlapping and
+   * touching times merged. The returned list is a copy that the caller may keep.
+   */
+  public TimeRangeList getBusyTimes(String attendee) {
+    SortedEventArray attendeeEvents = findEvents(AttendeeDictionary.findId(attendee));
+    if (attendeeEvents == null) {
+      return new TimeRangeList();
+    }
+    return attendeeEvents.getBusyTimes();
+  }
+
+  /**
+   * Checks if {@code attendee} has the same events in this index and in {@code other}, where one
+   * index was derived from the other. Derived indexes share the events of attendees whose events
+   * did not change, so this is a reference comparison rather than a comparison of the events.
+   */
+  public boolean hasSameEvents(EventIndex other, String attendee) {
+    int id = AttendeeDictionary.findId(attendee);
+    return findEvents(id) == other.findEvents(id);
+  }
+
+  /**
+   * Returns the events of {@code attendee} that overlap {@code range}, sorted by start time.
+   */
+  public List<Event> findOverlapping(String attendee, TimeRange range) {
+    SortedEventArray attendeeEvents = findEvents(AttendeeDictionary.findId(attendee));
+    if (attendeeEvents == null) {
+      return Collections.emptyList();
+    }
+    return attendeeEvents.eventsOverlapping(range);
+  }
+
+  /**
+   * Returns the events that overlap {@code range} and are attended by at least one of
+   * {@code attendees}, sorted by start time. Each event appears once even if several of the
+   * attendees attend it. Only the events of each attendee near the range are looked at, so the
+   * cost does not grow with the length of anyone's calendar.
+   */
+  public List<Event> findConflicts(Collection<String> attendees, TimeRange range) {
+    List<Event> conflicts = new ArrayList<>();
+    Set<Event> seen = Collections.newSetFromMap(new IdentityHashMap<Event, Boolean>());
+
+    for (String attendee : attendees) {
+      for (Event event : findOverlapping(attendee, range)) {
+        if (seen.add(event)) {
+          conflicts.add(event);
+        }
+      }
+    }
+
+    // Each attendee's conflicts are already sorted, so this only merges the sorted runs.
+    if (attendees.size() > 1) {
+      Collections.sort(conflicts, Event.ORDER_BY_START);
+    }
+
+    return conflicts;
+  }
+
+  /**
+   * Returns a list of events, sorted by start time, where the event's attendees share at least one
+   * person with {@code attendees}. Each event appears once even if several of the attendees attend
+   * it.
+   */
+  public List<Event> findEventsByAttendees(Collection<String> attendees) {
+    int[] ids = new int[attendees.size()];
+    int count = 0;
+    for (String attendee : attendees) {
+      ids[count++] = AttendeeDictionary.findId(attendee);
+    }
+    return findEventsByAttendeeIds(ids);
+  }
+
+  /**
+   * Same as {@link #findEventsByAttendees(Collection)}, for the attendees in {@code attendees}.
+   */
+  public List<Event> findEventsByAttendees(AttendeeSet attendees) {
+    return findEventsByAttendeeIds(attendees.getIds());
+  }
+
+  private List<Event> findEventsByAttendeeIds(int[] ids) {
+    List<Event> attendeeEvents = new ArrayList<>();
+    Set<Event> seen = Collections.newSetFromMap(new IdentityHashMap<Event, Boolean>());
+
+    for (int id : ids) {
+      SortedEventArray events = findEvents(id);
+      if (events == null) {
+        continue;
+      }
+
+      for (int i = 0; i < events.size(); i++) {
+        if (seen.add(events.get(i))) {
+          attendeeEvents.add(events.get(i));
+        }
+      }
+    }
+
+    // Each attendee's events are already sorted, so this only merges the sorted runs.
+    if (ids.length > 1) {
+      Collections.sort(attendeeEvents, Event.ORDER_BY_START);
+    }
+
+    return attendeeEvents;
+  }
+
+  /**
+   * Returns the events of the attendee with {@code id}, or null if they have none.
+   */
+  private SortedEventArray findEvents(int id) {
+    if (id < 0 || id >= eventsByAttendeeId.size()) {
+      return null;
+    }
+    return eventsByAttendeeId.get(id);
+  }
+}
@@ -0,0 +1,120 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * An augmented interval tree of calendar events, for finding the events that overlap a span of
+ * time without scanning every event. The events are sorted by start time and the tree is implicit
+ * in the sorted array: the root of any slice is its middle element, and each node also stores the
+ * latest end of any event below it. A lookup skips every subtree that ends before the range starts
+ * or starts after it ends, so it takes O(log n + k) time for k matching events.
+ *
+ * <p>The tree is read-only once it has been created. To change the events, build a new tree.
+ */
+public final class EventIntervalTree {
+  private final CalendarEvent[] events;
+  private final long[] starts;
+  private final long[] maxEnds;
+
+  /**
+   * Creates a tree of {@code events}.
+   *
+   * @param events The events to store. Must be non-null.
+   */
+  public EventIntervalTree(Collection<CalendarEvent> events) {
+    if (events == null) {
+      throw new IllegalArgumentException("events cannot be null");
+    }
+
+    this.events = events.toArray(new CalendarEvent[0]);
+    Arrays.sort(this.events, CalendarEvent.ORDER_BY_START);
+
+    starts = new long[this.events.length];
+    maxEnds = new long[this.events.length];
+    for (int i = 0; i < this.events.length; i++) {
+      starts[i] = this.events[i].getWhen().start();
+    }
+    buildMaxEnds(0, this.events.length);
+  }
+
+  /**
+   * Returns the number of events in the tree.
+   */
+  public int size() {
+    return events.length;
+  }
+
+  /**
+   * Returns the events that overlap {@code range}, sorted by start time.
+   */
+  public List<CalendarEvent> findOverlapping(EpochRange range) {
+    List<CalendarEvent> overlapping = new ArrayList<>();
+
+    // A range with no duration is a point in time, which only events starting at or before it
+    // can contain.
+    long startLimit = Math.max(range.end(), range.start() + 1);
+    collectOverlapping(0, events.length, range, startLimit, overlapping);
+
+    return overlapping;
+  }
+
+  /**
+   * Fills in the latest end of the slice from {@code low} to {@code high} at the slice's middle
+   * element and returns it.
+   */
+  private long buildMaxEnds(int low, int high) {
+    if (low >= high) {
+      return Long.MIN_VALUE;
+    }
+
+    int middle = (low + high) >>> 1;
+    long maxEnd = Math.max(events[middle].getWhen().end(),
+        Math.max(buildMaxEnds(low, middle), buildMaxEnds(middle + 1, high)));
+    maxEnds[middle] = maxEnd;
+    return maxEnd;
+  }
+
+  private void collectOverlapping(int low, int high, EpochRange range, long startLimit,
+      List<CalendarEvent> overlapping) {
+    if (low >= high) {
+      return;
+    }
+
+    int middle = (low + high) >>> 1;
+
+    // Nothing in this slice ends late enough to reach the range.
+    if (maxEnds[middle] < range.start()) {
+      return;
+    }
+
+    collectOverlapping(low, middle, range, startLimit, overlapping);
+
+    // The middle element and everything after it start too late to reach the range.
+    if (starts[middle] >= startLimit) {
+      return;
+    }
+
+    if (events[middle].getWhen().overlaps(range)) {
+      overlapping.add(events[middle]);
+    }
+
+    collectOverlapping(middle + 1, high, range, startLimit, overlapping);
+  }
+}
@@ -0,0 +1,61 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Where the scheduler's events are stored. Events can only be added, so the number of events also
+ * tells whether the repository changed since it was last read. Implementations must be safe to
+ * use from several threads.
+ */
+public interface EventRepository {
+
+  /**
+   * Stores {@code event}.
+   */
+  void add(Event event);
+
+  /**
+   * Stores all of {@code events}, in order. Bulk imports add their events in batches through this,
+   * so that a batch is written in one go rather than one event at a time.
+   */
+  void addAll(Collection<Event> events);
+
+  /**
+   * Makes sure that every stored event survives a crash. Adding events does not wait for them to
+   * reach the disk, so bulk imports call this once when they are done.
+   */
+  void sync();
+
+  /**
+   * Returns the number of events stored.
+   */
+  int size();
+
+  /**
+   * Returns every stored event, in the order they were added.
+   */
+  List<Event> getEvents();
+
+  /**
+   * Passes every stored event to {@code action}, in the order they were added, without collecting
+   * them in a list first. The repository may be locked while {@code action} runs, so it must not
+   * add events.
+   */
+  void forEachEvent(Consumer<Event> action);
+}
@@ -15,7 +15,14 @@
 
 package com.google.sps;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 
 public final class Events {
   private static final String PERSON_AMELIA = "Amelia";
@@ -132,7 +139,100 @@ public final class Events {
           Arrays.asList(PERSON_LIAM)),
   };
 
+  // The rooms that meetings can book. Events book a room by listing its name as an attendee.
+  public static final RoomIndex rooms = new RoomIndex(Arrays.asList(
+      new Room("Huddle Room", 4, Arrays.<String>asList()),
+      new Room("Focus Room", 6, Arrays.asList("whiteboard")),
+      new Room("Project Room", 10, Arrays.asList("whiteboard", "video conferencing")),
+      new Room("Boardroom", 20, Arrays.asList("projector", "video conferencing"))));
+
+  // The system property naming the event log to store events in, so that they survive a restart.
+  // Without it, the events above are kept in memory only.
+  public static final String EVENTS_FILE_PROPERTY = "sps.events.file";
+
+  // How many imported events are written to the repository at a time.
+  private static final int IMPORT_BATCH_SIZE = 4096;
+
+  // Where the scheduler's events are stored.
+  public static final EventRepository repository = openRepository();
+
+  // The stored events, indexed so that queries can read them while events are being added. Every
+  // query is answered from this index, so the whole calendar is held in the heap whichever
+  // repository stores it.
+  public static final SnapshotCalendar calendar = loadCalendar();
+
   private Events() {
     // Disallow instances.
   }
+
+  /**
+   * Stores {@code event} and makes it visible to queries.
+   */
+  public static void addEvent(Event event) {
+    addEvents(Arrays.asList(event));
+  }
+
+  /**
+   * Stores all of {@code events} and makes them visible to queries as one change.
+   */
+  public static void addEvents(Collection<Event> events) {
+    for (Event event : events) {
+      repository.add(event);
+    }
+    calendar.addEvents(events);
+  }
+
+  /**
+   * Reads events with {@code importer} and stores the ones that are not already in the calendar,
+   * {@link #IMPORT_BATCH_SIZE} at a time, syncing the repository once at the end. They are indexed
+   * as they are read, and the index is merged into the calendar's once at the end, so queries see
+   * all of them in one new version. The reader is not closed.
+   */
+  public static ImportSummary importEvents(EventImporter importer, Reader input)
+      throws IOException {
+    EventIndex existing = calendar.snapshot().getIndex();
+    EventIndex.Builder imported = new EventIndex.Builder();
+    List<Event> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+    ImportSummary summary = importer.importEvents(input, event -> {
+      if (existing.contains(event)) {
+        return;
+      }
+      imported.add(event);
+      batch.add(event);
+      if (batch.size() == IMPORT_BATCH_SIZE) {
+        repository.addAll(batch);
+        batch.clear();
+      }
+    });
+    repository.addAll(batch);
+    repository.sync();
+
+    if (imported.size() > 0) {
+      calendar.addEvents(imported.build(), imported.size());
+    }
+    return summary;
+  }
+
+  /**
+   * Returns a calendar of the stored events. Every stored event is decoded once at startup,
+   * straight into the index, rather than being collected in a list first.
+   */
+  private static SnapshotCalendar loadCalendar() {
+    EventIndex.Builder builder = new EventIndex.Builder();
+    repository.forEachEvent(builder::add);
+    return new SnapshotCalendar(builder.build(), repository.size());
+  }
+
+  private static EventRepository openRepository() {
+    String file = System.getProperty(EVENTS_FILE_PROPERTY);
+    if (file == null) {
+      return new InMemoryEventRepository(Arrays.asList(events));
+    }
+
+    try {
+      return MappedEventRepository.open(Paths.get(file));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
 }
@@ -18,13 +18,54 @@ import java.util.Collection;
 import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import com.google.sps.Event;
+import com.google.sps.EventIndex;
 import com.google.sps.MeetingRequest;
 import com.google.sps.TimeRange;
 
-public final class FindMeetingQuery {
+public final class FindMeetingQuery implements MeetingQuery {
+  private static final int MINUTES_PER_DAY = TimeRange.WHOLE_DAY.duration();
 
+  @Override
   public Collection<TimeRange> query(Collection<Event> events, MeetingRequest request) {
+    return query(new EventIndex(events), request);
+  }
+
+  /**
+   * Answers every request in {@code requests} against the same events. The events are sorted and
+   * indexed once for the whole batch. The result at each position answers the request at the same
+   * position.
+   */
+  public List<Collection<TimeRange>> queryAll(Collection<Event> events,
+      List<MeetingRequest> requests) {
+    return queryAll(new EventIndex(events), requests);
+  }
+
+  /**
+   * Answers every request in {@code requests} using the events in {@code index}. Requests are
+   * independent of each other, so they are answered in parallel on the common
+   * {@code ForkJoinPool}.
+   */
+  public List<Collection<TimeRange>> queryAll(EventIndex index, List<MeetingRequest> requests) {
+    return requests.parallelStream()
+        .map(request -> query(index, request))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Returns the times when the requested meeting can be held, only looking at the events of the
+   * requested attendees in {@code index}.
+   */
+  public Collection<TimeRange> query(EventIndex index, MeetingRequest request) {
     long duration = request.getDuration();
     
     // Do not provide any time options if the meeting requested is longer than a whole day. 
@@ -32,33 +73,154 @@ public final class FindMeetingQuery {
       return Arrays.asList();
     }
 
-    ArrayList<Event> sortedEvents = new ArrayList<>(events);
-    Collections.sort(sortedEvents, Event.ORDER_BY_START);
+    // Requests with many attendees find each attendee's busy times in parallel instead.
+    if (request.getAttendees().size() + request.getOptionalAttendees().size()
+        >= TimeRangeList.PARALLEL_THRESHOLD) {
+      return findTimes(findBusyTimes(index, request.getAttendees()),
+          findBusyTimes(index, request.getOptionalAttendees()), duration).toTimeRanges();
+    }
 
-    Collection<Event> mandatoryEvents =
-        findEventsByAttendees(sortedEvents, request.getAttendees());
-    sortedEvents.removeAll(mandatoryEvents);
-    Collection<Event> optionalEvents =
-        findEventsByAttendees(sortedEvents, request.getOptionalAttendees());
+    List<Event> mandatoryEvents = index.findEventsByAttendees(request.getAttendeeSet());
+    List<Event> optionalEvents = index.findEventsByAttendees(request.getOptionalAttendeeSet());
+    optionalEvents.removeAll(new HashSet<>(mandatoryEvents));
     
     // If there's no mandatory attendees, only consider optional attendees.
     if (mandatoryEvents.isEmpty()) {
-      return findAvailableTimes(optionalEvents, duration);
+      return findAvailableTimes(optionalEvents, duration).toTimeRanges();
+    }
+
+    TimeRangeList mandatoryTimes = findAvailableTimes(mandatoryEvents, duration);
+    TimeRangeList optionalTimes = findAvailableTimes(optionalEvents, duration);
+
+    TimeRangeList overlappingTimes = mandatoryTimes.intersect(optionalTimes, duration);
+
+    // Return time slots where both mandatory and optional attendees are available, if any.
+    if (!overlappingTimes.isEmpty()) {
+      return overlappingTimes.toTimeRanges();
+    }
+
+    return mandatoryTimes.toTimeRanges();
+  }
+
+  /**
+   * Returns the times when the requested meeting can be held in a room that suits it, each paired
+   * with the room. A room suits the meeting if it has the requested capacity and equipment, and
+   * it can hold the meeting at a time if it is free for all of it. The free times of everyone and
+   * of the mandatory attendees are each intersected with the free times of every suitable room,
+   * and as in {@code query}, the mandatory attendees' slots are only returned if there are no
+   * slots where everyone can attend. The slots are ordered by start time, and slots starting at
+   * the same time by room size, so the smallest room that works comes first.
+   */
+  public List<RoomSlot> queryWithRooms(EventIndex index, RoomIndex rooms,
+      MeetingRequest request) {
+    long duration = request.getDuration();
+
+    // Do not provide any time options if the meeting requested is longer than a whole day.
+    if (duration > TimeRange.WHOLE_DAY.duration()) {
+      return Arrays.asList();
+    }
+
+    List<Room> suitableRooms =
+        rooms.findSuitable(request.getRoomCapacity(), request.getRoomEquipment());
+    if (suitableRooms.isEmpty()) {
+      return Arrays.asList();
+    }
+
+    List<TimeRangeList> roomTimes = new ArrayList<>(suitableRooms.size());
+    for (Room room : suitableRooms) {
+      roomTimes.add(findAvailableTimes(index.getBusyTimes(room.getName()), duration,
+          TimeRange.END_OF_DAY + 1));
+    }
+
+    TimeRangeList mandatoryBusyTimes = findBusyTimes(index, request.getAttendees());
+    TimeRangeList optionalTimes = findAvailableTimes(
+        findBusyTimes(index, request.getOptionalAttendees()), duration, TimeRange.END_OF_DAY + 1);
+
+    // If there's no mandatory attendees, only consider optional attendees.
+    if (mandatoryBusyTimes.isEmpty()) {
+      return pairWithRooms(optionalTimes, suitableRooms, roomTimes, duration);
+    }
+
+    // The optional attendees are only dropped if no room is free while everyone is, so the times
+    // are paired with rooms before deciding whether to fall back to the mandatory attendees.
+    TimeRangeList mandatoryTimes =
+        findAvailableTimes(mandatoryBusyTimes, duration, TimeRange.END_OF_DAY + 1);
+    List<RoomSlot> slots = pairWithRooms(mandatoryTimes.intersect(optionalTimes, duration),
+        suitableRooms, roomTimes, duration);
+    if (!slots.isEmpty()) {
+      return slots;
     }
+    return pairWithRooms(mandatoryTimes, suitableRooms, roomTimes, duration);
+  }
 
-    Collection<TimeRange> mandatoryTimes = findAvailableTimes(mandatoryEvents, duration);
-    Collection<TimeRange> optionalTimes = findAvailableTimes(optionalEvents, duration);
+  /**
+   * Returns the parts of {@code attendeeTimes} when each of {@code rooms} is free, given the free
+   * times of the rooms in the same order, with the slots sorted as {@code queryWithRooms} returns
+   * them.
+   */
+  private static List<RoomSlot> pairWithRooms(TimeRangeList attendeeTimes, List<Room> rooms,
+      List<TimeRangeList> roomTimes, long duration) {
+    List<RoomSlot> slots = new ArrayList<>();
+    for (int room = 0; room < rooms.size(); room++) {
+      TimeRangeList times = attendeeTimes.intersect(roomTimes.get(room), duration);
+      for (int i = 0; i < times.size(); i++) {
+        slots.add(new RoomSlot(
+            TimeRange.fromStartEnd(times.start(i), times.end(i), false), rooms.get(room)));
+      }
+    }
 
-    Collection<TimeRange> overlappingTimes =
-        findOverlappingTimes(mandatoryTimes, optionalTimes, duration);
+    // The sort is stable and the rooms are ordered by size, so this keeps the smallest room first.
+    slots.sort(Comparator.comparingInt(slot -> slot.getWhen().start()));
+    return slots;
+  }
 
-    ArrayList<TimeRange> toRemove = new ArrayList<>();
-    for (TimeRange time : overlappingTimes) {
-      if (time.duration() < duration) {
-        toRemove.add(time);
+  /**
+   * Returns how many of {@code attendees} are free at each minute of the day. Each attendee's busy
+   * times are merged first, so that overlapping events count once, and then added to a difference
+   * array that marks where the number of busy attendees changes. A single sweep over the day turns
+   * it into counts, so the cost is linear in the number of events plus the minutes in a day.
+   */
+  public AvailabilityHeatmap queryHeatmap(EventIndex index, Collection<String> attendees) {
+    int[] changes = new int[MINUTES_PER_DAY + 1];
+    for (String attendee : attendees) {
+      TimeRangeList busyTimes = index.getBusyTimes(attendee);
+      for (int i = 0; i < busyTimes.size(); i++) {
+        int start = Math.max(busyTimes.start(i), 0);
+        int end = Math.min(busyTimes.end(i), MINUTES_PER_DAY);
+        if (start < end) {
+          changes[start]++;
+          changes[end]--;
+        }
       }
     }
-    overlappingTimes.removeAll(toRemove);
+
+    int[] freeAtMinute = new int[MINUTES_PER_DAY];
+    int busy = 0;
+    for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+      busy += changes[minute];
+      freeAtMinute[minute] = attendees.size() - busy;
+    }
+    return AvailabilityHeatmap.fromMinutes(attendees.size(), freeAtMinute);
+  }
+
+  /**
+   * Returns the times when the requested meeting can be held, given the merged busy times of the
+   * mandatory and the optional attendees. Every event leaves a busy time, even one with no
+   * duration, so mandatory attendees without busy times have no events.
+   */
+  private TimeRangeList findTimes(TimeRangeList mandatoryBusyTimes,
+      TimeRangeList optionalBusyTimes, long duration) {
+    TimeRangeList optionalTimes =
+        findAvailableTimes(optionalBusyTimes, duration, TimeRange.END_OF_DAY + 1);
+
+    // If there's no mandatory attendees, only consider optional attendees.
+    if (mandatoryBusyTimes.isEmpty()) {
+      return optionalTimes;
+    }
+
+    TimeRangeList mandatoryTimes =
+        findAvailableTimes(mandatoryBusyTimes, duration, TimeRange.END_OF_DAY + 1);
+    TimeRangeList overlappingTimes = mandatoryTimes.intersect(optionalTimes, duration);
 
     // Return time slots where both mandatory and optional attendees are available, if any.
     if (!overlappingTimes.isEmpty()) {
@@ -69,30 +231,225 @@ public final class FindMeetingQuery {
   }
 
   /**
-   * Return a list of events where the event's attendees share at least one person with the
-   * attendee list.
+   * Returns the times when at least one of {@code attendees} is busy, merged. Each attendee's busy
+   * times are found on their own, in parallel when there are many attendees, and then combined by
+   * {@link TimeRangeList#unionAll}.
    */
-  private ArrayList<Event> findEventsByAttendees(Collection<Event> events,
-      Collection<String> attendees) {
-    ArrayList<Event> attendeeEvents = new ArrayList<>();
+  private static TimeRangeList findBusyTimes(EventIndex index, Collection<String> attendees) {
+    Stream<String> stream = attendees.size() >= TimeRangeList.PARALLEL_THRESHOLD
+        ? attendees.parallelStream()
+        : attendees.stream();
+    List<TimeRangeList> busyTimes = stream
+        .map(index::getBusyTimes)
+        .collect(Collectors.toList());
 
-    for (Event event : events) {
-      if (!Collections.disjoint(event.getAttendees(), attendees)) {
-        attendeeEvents.add(event);
+    return TimeRangeList.unionAll(busyTimes);
+  }
+
+  /**
+   * Returns the times within {@code window} when the requested meeting can be held. Unlike the
+   * single-day queries, the window may span many days, and so may the meeting and the returned
+   * times. Only the events overlapping the window are looked up in {@code tree}.
+   */
+  public Collection<EpochRange> query(EventIntervalTree tree, MeetingRequest request,
+      EpochRange window) {
+    return query(tree::findOverlapping, request, window);
+  }
+
+  /**
+   * Same as {@link #query(EventIntervalTree, MeetingRequest, EpochRange)}, for a calendar that may
+   * hold recurring events. Only the recurring events of the requested attendees are expanded, and
+   * only within {@code window}.
+   */
+  public Collection<EpochRange> query(EventCalendar calendar, MeetingRequest request,
+      EpochRange window) {
+    Set<String> attendees = new HashSet<>(request.getAttendees());
+    attendees.addAll(request.getOptionalAttendees());
+    return query(range -> calendar.findOverlapping(range, attendees), request, window);
+  }
+
+  /**
+   * Returns the earliest time within {@code horizon} when the requested meeting can be held, or
+   * nothing if there is none. The horizon is searched one day at a time, and the search stops at
+   * the first day with a free time, so only the events of the days up to it are looked up. On that
+   * day, optional attendees are included if the day has a time that works for all of them, like
+   * {@code query} does. Days are 24 hours long and start at the start of the horizon.
+   */
+  public Optional<EpochRange> searchEarliest(EventCalendar calendar, MeetingRequest request,
+      EpochRange horizon) {
+    long duration = request.getDuration();
+
+    for (long dayStart = horizon.start(); dayStart < horizon.end(); dayStart += MINUTES_PER_DAY) {
+      // Look past the end of the day by the meeting's duration, so that a meeting starting late
+      // in the day can continue into the next one.
+      long windowEnd = Math.min(dayStart + MINUTES_PER_DAY + duration, horizon.end());
+      Collection<EpochRange> times =
+          query(calendar, request, EpochRange.fromStartEnd(dayStart, windowEnd));
+      if (!times.isEmpty()) {
+        return Optional.of(EpochRange.fromStartDuration(times.iterator().next().start(), duration));
       }
     }
 
-    return attendeeEvents;
+    return Optional.empty();
+  }
+
+  /**
+   * Returns the times within {@code window} when the requested meeting can be held, looking up
+   * the events that overlap the window with {@code findOverlapping}.
+   */
+  private Collection<EpochRange> query(
+      Function<EpochRange, List<CalendarEvent>> findOverlapping, MeetingRequest request,
+      EpochRange window) {
+    long duration = request.getDuration();
+
+    // Do not provide any time options if the meeting requested is longer than the whole window.
+    if (duration > window.duration()) {
+      return Arrays.asList();
+    }
+
+    if (window.duration() > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("window cannot be longer than " + Integer.MAX_VALUE
+          + " minutes");
+    }
+
+    // Times are measured in minutes from the start of the window so they fit in a TimeRangeList.
+    int windowEnd = (int) window.duration();
+    Set<String> mandatoryAttendees = new HashSet<>(request.getAttendees());
+    Set<String> optionalAttendees = new HashSet<>(request.getOptionalAttendees());
+    TimeRangeList mandatoryEventTimes = new TimeRangeList();
+    TimeRangeList optionalEventTimes = new TimeRangeList();
+
+    for (CalendarEvent event : findOverlapping.apply(window)) {
+      int start = (int) (Math.max(event.getWhen().start(), window.start()) - window.start());
+      int end = (int) (Math.min(event.getWhen().end(), window.end()) - window.start());
+
+      if (!Collections.disjoint(event.getAttendees(), mandatoryAttendees)) {
+        mandatoryEventTimes.add(start, end);
+      } else if (!Collections.disjoint(event.getAttendees(), optionalAttendees)) {
+        optionalEventTimes.add(start, end);
+      }
+    }
+
+    // The events are sorted by start time, so a union merges their overlapping times.
+    TimeRangeList optionalTimes = findAvailableTimes(
+        optionalEventTimes.union(new TimeRangeList()), duration, windowEnd);
+
+    // If there's no mandatory attendees, only consider optional attendees.
+    if (mandatoryEventTimes.isEmpty()) {
+      return toEpochRanges(optionalTimes, window);
+    }
+
+    TimeRangeList mandatoryTimes = findAvailableTimes(
+        mandatoryEventTimes.union(new TimeRangeList()), duration, windowEnd);
+    TimeRangeList overlappingTimes = mandatoryTimes.intersect(optionalTimes, duration);
+
+    // Return time slots where both mandatory and optional attendees are available, if any.
+    if (!overlappingTimes.isEmpty()) {
+      return toEpochRanges(overlappingTimes, window);
+    }
+
+    return toEpochRanges(mandatoryTimes, window);
+  }
+
+  /**
+   * Returns the times when the requested meeting can be held with every mandatory attendee and as
+   * many optional attendees as possible. Unlike {@code query}, which drops all optional attendees
+   * when no time works for every one of them, this keeps the times that work for the most of them.
+   * Every returned range can host the meeting anywhere within it, and the same optional attendees
+   * are free throughout a range. The ranges are sorted by start time. A range reaches a meeting's
+   * length past its last start, so two ranges where different optional attendees are free can
+   * overlap when their starts are close together.
+   */
+  public Collection<TimeRange> queryMaximizingOptionalAttendees(Collection<Event> events,
+      MeetingRequest request) {
+    return queryMaximizingOptionalAttendees(new EventIndex(events), request);
+  }
+
+  /**
+   * Same as {@link #queryMaximizingOptionalAttendees(Collection, MeetingRequest)}, only looking at
+   * the events of the requested attendees in {@code index}.
+   *
+   * <p>Each busy interval blocks every meeting start that would overlap it. A sweep over the sorted
+   * starts and ends of the blocked intervals gives the number of busy optional attendees for every
+   * possible meeting start, so this runs in O(E log E) for E events instead of trying subsets of
+   * the optional attendees.
+   */
+  public Collection<TimeRange> queryMaximizingOptionalAttendees(EventIndex index,
+      MeetingRequest request) {
+    long duration = request.getDuration();
+
+    // Do not provide any time options if the meeting requested is longer than a whole day.
+    if (duration > TimeRange.WHOLE_DAY.duration()) {
+      return Arrays.asList();
+    }
+
+    int length = (int) Math.max(duration, 1);
+    int mandatoryWeight = request.getOptionalAttendees().size() + 1;
+    BlockedStarts blockedStarts = blockStarts(index, request, length);
+
+    int fewestBusy = blockedStarts.sweep(Integer.MAX_VALUE, null);
+    if (fewestBusy >= mandatoryWeight) {
+      return Arrays.asList();
+    }
+
+    List<TimeRange> times = new ArrayList<>();
+    blockedStarts.sweep(fewestBusy, times);
+    return times;
+  }
+
+  /**
+   * Returns up to {@code limit} meeting times that every mandatory attendee can make, best first as
+   * ranked by {@link RankedSlot#ORDER_BY_RANK}. Candidate times are scored while sweeping the day
+   * and only the best {@code limit} of them are kept in a bounded heap, so the cost of keeping them
+   * does not depend on how many times are free.
+   */
+  public List<RankedSlot> queryTopSlots(EventIndex index, MeetingRequest request,
+      SlotPreferences preferences, int limit) {
+    if (limit < 0) {
+      throw new IllegalArgumentException("limit cannot be negative");
+    }
+
+    long duration = request.getDuration();
+
+    // Do not provide any time options if the meeting requested is longer than a whole day.
+    if (duration > TimeRange.WHOLE_DAY.duration() || limit == 0) {
+      return Arrays.asList();
+    }
+
+    int length = (int) Math.max(duration, 1);
+    SlotRanking ranking = new SlotRanking(request, preferences, limit,
+        findBusyTimes(index, request.getAttendees()));
+    blockStarts(index, request, length).forEachRun(ranking);
+    return ranking.getTopSlots();
   }
 
   /**
-   * Returns a Collection of TimeRange objects that represent a time range where a requested
-   * meeting can be held. Start and end markers for an available time range are moved to times
-   * where a conflicting event is not taking place. Only ranges that are long enough to host the
-   * requested meeting are added to the Collection to be returned. 
+   * Returns the meeting starts blocked by the attendees of {@code request}. Mandatory attendees
+   * outweigh every optional attendee together, so a start where a mandatory attendee is busy is
+   * never the best one.
    */
-  private Collection<TimeRange> findAvailableTimes(Collection<Event> events, long duration) {
-    Collection<TimeRange> times = new ArrayList<>();
+  private static BlockedStarts blockStarts(EventIndex index, MeetingRequest request,
+      int length) {
+    Collection<String> optionalAttendees = request.getOptionalAttendees();
+    int mandatoryWeight = optionalAttendees.size() + 1;
+
+    BlockedStarts blockedStarts = new BlockedStarts(length);
+    blockedStarts.addEvents(index.findEventsByAttendees(request.getAttendeeSet()),
+        mandatoryWeight);
+    for (String attendee : optionalAttendees) {
+      blockedStarts.addEvents(index.getEvents(attendee), 1);
+    }
+    return blockedStarts;
+  }
+
+  /**
+   * Returns the time ranges where a requested meeting can be held. Start and end markers for an
+   * available time range are moved to times where a conflicting event is not taking place. Only
+   * ranges that are long enough to host the requested meeting are added to the list to be
+   * returned. 
+   */
+  private TimeRangeList findAvailableTimes(Collection<Event> events, long duration) {
+    TimeRangeList times = new TimeRangeList();
 
     // Start and end markers of a time range that is available for a meeting. 
     int start = TimeRange.START_OF_DAY;
@@ -109,12 +466,10 @@ public final class FindMeetingQuery {
       }
 
       end = eventTime.start();
-      
-      TimeRange time = TimeRange.fromStartEnd(start, end, false);
 
       // Only add time range if it's long enough to host the meeting.
-      if (time.duration() >= duration) {
-        times.add(time);
+      if (end - start >= duration) {
+        times.add(start, end);
       }
 
       // Moves marker to set the start of the next available time range. 
@@ -124,40 +479,250 @@ public final class FindMeetingQuery {
     }
 
     // Add the last time range between the end of the last event and the end of the day.
-    TimeRange time = TimeRange.fromStartEnd(start, TimeRange.END_OF_DAY, true);
-    if (time.duration() >= duration) {
-      times.add(time);
+    end = TimeRange.END_OF_DAY + 1;
+    if (end - start >= duration) {
+      times.add(start, end);
+    }
+
+    return times;
+  }
+
+  /**
+   * Returns the gaps between {@code busyTimes}, which must be sorted by start time with
+   * overlapping times merged, that are long enough to host the requested meeting. Gaps are looked
+   * for between minute 0 and {@code endOfTime}, excluding {@code endOfTime}.
+   */
+  private TimeRangeList findAvailableTimes(TimeRangeList busyTimes, long duration,
+      int endOfTime) {
+    TimeRangeList times = new TimeRangeList(busyTimes.size() + 1);
+
+    int start = TimeRange.START_OF_DAY;
+    for (int i = 0; i < busyTimes.size(); i++) {
+      int end = busyTimes.start(i);
+      if (end > start && end - start >= duration) {
+        times.add(start, end);
+      }
+      start = Math.max(start, busyTimes.end(i));
+    }
+
+    // Add the last time range between the end of the last busy time and the end of time.
+    if (endOfTime - start >= duration) {
+      times.add(start, endOfTime);
     }
 
     return times;
   }
 
+  /**
+   * Converts {@code times}, measured in minutes from the start of {@code window}, to epoch ranges.
+   */
+  private static List<EpochRange> toEpochRanges(TimeRangeList times, EpochRange window) {
+    List<EpochRange> ranges = new ArrayList<>(times.size());
+    for (int i = 0; i < times.size(); i++) {
+      ranges.add(EpochRange.fromStartEnd(window.start() + times.start(i),
+          window.start() + times.end(i)));
+    }
+    return ranges;
+  }
+
   /**
    * Returns a Collection of TimeRange objects that represent the overlapping times that mandatory
-   * and optional attendees can attend a requested meeting. If there are no overlapping times, then
-   * only mandatory attendee times are returned. 
+   * and optional attendees can attend a requested meeting. Only overlapping times that are long
+   * enough to host the requested meeting are returned.
+   *
+   * <p>Both collections must be sorted by start time and must not contain overlapping ranges, which
+   * is true of the times returned by {@code query}. They are merged in a single pass by
+   * {@link TimeRangeList#intersect}.
    */
   public static Collection<TimeRange> findOverlappingTimes(Collection<TimeRange> mandatoryTimes,
       Collection<TimeRange> optionalTimes, long duration) {
-    Collection<TimeRange> times = new ArrayList<>();
-    
-    // Find common available times between mandatory and optional attendees. 
-    for (TimeRange mandatoryTime : mandatoryTimes) {
-      for (TimeRange optionalTime : optionalTimes) {
-        
-        if (mandatoryTime.contains(optionalTime)) {
-          times.add(optionalTime);
-        } else if (optionalTime.contains(mandatoryTime)) {
-          times.add(mandatoryTime);
-        } else if (mandatoryTime.overlaps(optionalTime)) {
-          int start = Math.max(mandatoryTime.start(), optionalTime.start());
-          int end = Math.min(mandatoryTime.end(), optionalTime.end());
-
-          times.add(TimeRange.fromStartEnd(start, end, false));
+    return TimeRangeList.of(mandatoryTimes)
+        .intersect(TimeRangeList.of(optionalTimes), duration)
+        .toTimeRanges();
+  }
+
+  /**
+   * The meeting starts blocked by busy attendees. Each blocked interval of starts is stored as two
+   * points, packed into a long with the position in the upper half and the change in the number of
+   * busy attendees in the lower half, so they can be sorted as primitives.
+   */
+  private static final class BlockedStarts {
+    private final int length;
+    private final int lastStart;
+    private long[] points = new long[16];
+    private int size = 0;
+
+    BlockedStarts(int length) {
+      this.length = length;
+      this.lastStart = TimeRange.WHOLE_DAY.duration() - length;
+    }
+
+    /**
+     * Blocks every meeting start that would overlap one of {@code events}, which must be sorted by
+     * start time. Overlapping blocked intervals are merged so that each attendee is only counted
+     * once at any start.
+     */
+    void addEvents(List<Event> events, int weight) {
+      int blockedStart = 0;
+      int blockedEnd = Integer.MIN_VALUE;
+
+      for (Event event : events) {
+        TimeRange when = event.getWhen();
+        int start = when.start() - length + 1;
+
+        if (start > blockedEnd) {
+          add(blockedStart, blockedEnd, weight);
+          blockedStart = start;
         }
+        blockedEnd = Math.max(blockedEnd, when.end());
       }
+
+      add(blockedStart, blockedEnd, weight);
     }
 
-    return times;
+    private void add(int start, int end, int weight) {
+      start = Math.max(start, 0);
+      end = Math.min(end, lastStart + 1);
+      if (start >= end) {
+        return;
+      }
+
+      if (size + 2 > points.length) {
+        points = Arrays.copyOf(points, points.length * 2);
+      }
+      points[size++] = ((long) start << 32) | (weight & 0xFFFFFFFFL);
+      points[size++] = ((long) end << 32) | (-weight & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Walks the meeting starts in order and returns the fewest busy attendees at any start. If
+     * {@code times} is non-null, every run of starts where exactly {@code target} attendees are
+     * busy is added to it as the range of time that a meeting starting in the run can use.
+     */
+    int sweep(int target, List<TimeRange> times) {
+      int[] fewestBusy = {Integer.MAX_VALUE};
+      forEachRun((firstStart, endStart, busy) -> {
+        fewestBusy[0] = Math.min(fewestBusy[0], busy);
+        if (times != null && busy == target) {
+          times.add(TimeRange.fromStartEnd(firstStart, endStart - 1 + length, false));
+        }
+      });
+      return fewestBusy[0];
+    }
+
+    /**
+     * Passes every run of meeting starts at which the same attendees are busy to
+     * {@code consumer}, in order. Each attendee's blocked intervals are merged when they are
+     * added, so the busy attendees change at every start or end of an interval, even where the
+     * count stays the same because one attendee becomes free as another becomes busy.
+     */
+    void forEachRun(RunConsumer consumer) {
+      Arrays.sort(points, 0, size);
+
+      int busy = 0;
+      int position = 0;
+      int i = 0;
+
+      while (position <= lastStart) {
+        while (i < size && (int) (points[i] >> 32) == position) {
+          busy += (int) points[i];
+          i++;
+        }
+
+        int next = i < size ? (int) (points[i] >> 32) : lastStart + 1;
+        consumer.accept(position, next, busy);
+        position = next;
+      }
+    }
+  }
+
+  /**
+   * Receives a run of meeting starts, from {@code firstStart} to {@code endStart} excluding
+   * {@code endStart}, at which {@code busy} attendees are busy, counted by weight.
+   */
+  private interface RunConsumer {
+    void accept(int firstStart, int endStart, int busy);
+  }
+
+  /**
+   * Scores the candidate starts of the runs it is given and keeps the best ones. Runs must be
+   * given in order, so the busy times around each candidate can be found by walking forward.
+   */
+  private static final class SlotRanking implements RunConsumer {
+    private final SlotPreferences preferences;
+    private final int duration;
+    private final int optionalAttendees;
+    private final int limit;
+
+    // The merged busy times of the mandatory attendees, and the first of them that has not ended
+    // before the current candidate.
+    private final TimeRangeList busyTimes;
+    private int nextBusy = 0;
+
+    // The best slots so far, with the worst of them at the head so it can be replaced.
+    private final PriorityQueue<RankedSlot> topSlots;
+
+    SlotRanking(MeetingRequest request, SlotPreferences preferences, int limit,
+        TimeRangeList busyTimes) {
+      this.preferences = preferences;
+      this.duration = (int) request.getDuration();
+      this.optionalAttendees = request.getOptionalAttendees().size();
+      this.limit = limit;
+      this.busyTimes = busyTimes;
+      // The limit can be far larger than the number of slots in a day, so do not allocate for it.
+      this.topSlots = new PriorityQueue<>(Math.min(limit, TimeRange.WHOLE_DAY.duration()),
+          Collections.reverseOrder(RankedSlot.ORDER_BY_RANK));
+    }
+
+    @Override
+    public void accept(int firstStart, int endStart, int busy) {
+      // A mandatory attendee is busy at every start in the run.
+      if (busy > optionalAttendees) {
+        return;
+      }
+
+      int step = preferences.getStep();
+      for (int start = firstStart; start < endStart; start = (start / step + 1) * step) {
+        offer(score(start, optionalAttendees - busy));
+      }
+    }
+
+    private RankedSlot score(int start, int availableOptionalAttendees) {
+      int end = start + duration;
+      while (nextBusy < busyTimes.size() && busyTimes.end(nextBusy) <= start) {
+        nextBusy++;
+      }
+
+      // Nothing needs a buffer from the start or the end of the day.
+      int freeBefore =
+          nextBusy == 0 ? Integer.MAX_VALUE : start - busyTimes.end(nextBusy - 1);
+      int freeAfter =
+          nextBusy == busyTimes.size() ? Integer.MAX_VALUE : busyTimes.start(nextBusy) - end;
+      int buffer = Math.max(0, Math.min(preferences.getBuffer(), Math.min(freeBefore, freeAfter)));
+
+      TimeRange preferredHours = preferences.getPreferredHours();
+      boolean inPreferredHours = start >= preferredHours.start() && end <= preferredHours.end();
+
+      return new RankedSlot(TimeRange.fromStartDuration(start, duration),
+          availableOptionalAttendees, inPreferredHours, buffer);
+    }
+
+    private void offer(RankedSlot slot) {
+      if (topSlots.size() < limit) {
+        topSlots.add(slot);
+      } else if (RankedSlot.ORDER_BY_RANK.compare(slot, topSlots.peek()) < 0) {
+        topSlots.poll();
+        topSlots.add(slot);
+      }
+    }
+
+    /**
+     * Returns the best slots, best first.
+     */
+    List<RankedSlot> getTopSlots() {
+      List<RankedSlot> slots = new ArrayList<>(topSlots);
+      Collections.sort(slots, RankedSlot.ORDER_BY_RANK);
+      return slots;
+    }
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,66 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+/**
+ * What happened to the records of one bulk import.
+ */
+public final class ImportSummary {
+  private final long read;
+  private final long imported;
+  private final long duplicates;
+  private final long rejected;
+
+  public ImportSummary(long read, long imported, long duplicates, long rejected) {
+    this.read = read;
+    this.imported = imported;
+    this.duplicates = duplicates;
+    this.rejected = rejected;
+  }
+
+  /**
+   * Returns the number of records read.
+   */
+  public long getRead() {
+    return read;
+  }
+
+  /**
+   * Returns the number of distinct events imported.
+   */
+  public long getImported() {
+    return imported;
+  }
+
+  /**
+   * Returns the number of records that were equal to an event imported before them.
+   */
+  public long getDuplicates() {
+    return duplicates;
+  }
+
+  /**
+   * Returns the number of records that could not be read as an event.
+   */
+  public long getRejected() {
+    return rejected;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d read, %d imported, %d duplicates, %d rejected", read, imported,
+        duplicates, rejected);
+  }
+}
@@ -0,0 +1,73 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * An {@code EventRepository} that keeps its events in a list on the heap. Nothing is kept once
+ * the application stops.
+ */
+public final class InMemoryEventRepository implements EventRepository {
+  private final List<Event> events = new ArrayList<>();
+
+  public InMemoryEventRepository() {}
+
+  /**
+   * Creates a repository holding {@code events}.
+   */
+  public InMemoryEventRepository(Collection<Event> events) {
+    this.events.addAll(events);
+  }
+
+  @Override
+  public synchronized void add(Event event) {
+    if (event == null) {
+      throw new IllegalArgumentException("event cannot be null");
+    }
+    events.add(event);
+  }
+
+  @Override
+  public synchronized void addAll(Collection<Event> events) {
+    for (Event event : events) {
+      add(event);
+    }
+  }
+
+  @Override
+  public void sync() {
+    // Nothing is stored on disk.
+  }
+
+  @Override
+  public synchronized int size() {
+    return events.size();
+  }
+
+  @Override
+  public synchronized List<Event> getEvents() {
+    return new ArrayList<>(events);
+  }
+
+  @Override
+  public synchronized void forEachEvent(Consumer<Event> action) {
+    events.forEach(action);
+  }
+
+}
@@ -0,0 +1,292 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * An {@code EventRepository} that keeps its events in an append-only log file. The log is
+ * memory-mapped, so events are read straight from the page cache and only turned into objects
+ * when they are asked for. Opening the log only walks the record lengths, to count the records
+ * and to find one cut short by a crash, which is dropped.
+ *
+ * <p>The repository only stores the events. The scheduler reads all of them once at startup into
+ * an in-memory {@code EventIndex}, which answers every query, so the calendar has to fit in the
+ * heap.
+ *
+ * <p>The log starts with a magic number and a format version, followed by one record per event:
+ *
+ * <pre>
+ *   int length                 The number of bytes in the rest of the record.
+ *   int start, int duration    The time of the event.
+ *   int length, byte[] title   The title, in UTF-8.
+ *   int count                  The number of attendees, each stored like the title.
+ * </pre>
+ *
+ * <p>The log is mapped as a single buffer, which limits it to 2 GB.
+ */
+public final class MappedEventRepository implements EventRepository, Closeable {
+  private static final int LOG_MAGIC = 0x53505345;
+  private static final int FORMAT_VERSION = 1;
+
+  // Magic number and format version.
+  private static final int LOG_HEADER_BYTES = 8;
+
+  // The smallest record: start, duration, an empty title and no attendees.
+  private static final int MIN_RECORD_BYTES = 16;
+
+  private final FileChannel log;
+  private long logLength;
+  private MappedByteBuffer logBuffer;
+  private int size = 0;
+  private boolean closed = false;
+
+  private MappedEventRepository(Path logPath) throws IOException {
+    this.log = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+
+    try {
+      if (log.size() == 0) {
+        ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_BYTES);
+        header.putInt(LOG_MAGIC).putInt(FORMAT_VERSION).flip();
+        writeFully(header, 0);
+      }
+
+      logLength = log.size();
+      if (logLength > Integer.MAX_VALUE) {
+        throw new IOException(logPath + " is larger than 2 GB");
+      }
+      mapLog();
+      if (logLength < LOG_HEADER_BYTES || logBuffer.getInt(0) != LOG_MAGIC
+          || logBuffer.getInt(4) != FORMAT_VERSION) {
+        throw new IOException(logPath + " is not an event log");
+      }
+
+      recoverRecords();
+    } catch (IOException | RuntimeException e) {
+      log.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Opens the event log at {@code path}, creating it if it does not exist.
+   */
+  public static MappedEventRepository open(Path path) throws IOException {
+    return new MappedEventRepository(path);
+  }
+
+  @Override
+  public synchronized void add(Event event) {
+    addAll(Arrays.asList(event));
+  }
+
+  /**
+   * Stores all of {@code events} with a single write to the end of the log.
+   */
+  @Override
+  public synchronized void addAll(Collection<Event> events) {
+    checkOpen();
+
+    List<ByteBuffer> records = new ArrayList<>(events.size());
+    long length = 0;
+    for (Event event : events) {
+      if (event == null) {
+        throw new IllegalArgumentException("event cannot be null");
+      }
+      ByteBuffer record = encode(event);
+      records.add(record);
+      length += record.remaining();
+    }
+    if (logLength + length > Integer.MAX_VALUE) {
+      throw new IllegalStateException("the event log cannot grow past 2 GB");
+    }
+
+    ByteBuffer batch = ByteBuffer.allocate((int) length);
+    for (ByteBuffer record : records) {
+      batch.put(record);
+    }
+    batch.flip();
+
+    try {
+      writeFully(batch, logLength);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    logLength += length;
+    size += records.size();
+  }
+
+  @Override
+  public synchronized void sync() {
+    checkOpen();
+    try {
+      log.force(false);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public synchronized int size() {
+    return size;
+  }
+
+  @Override
+  public synchronized List<Event> getEvents() {
+    List<Event> events = new ArrayList<>(size());
+    forEachEvent(events::add);
+    return events;
+  }
+
+  @Override
+  public synchronized void forEachEvent(Consumer<Event> action) {
+    checkOpen();
+    ensureMapped();
+
+    long offset = LOG_HEADER_BYTES;
+    while (offset < logLength) {
+      action.accept(decode(offset));
+      offset += Integer.BYTES + logBuffer.getInt((int) offset);
+    }
+  }
+
+  /**
+   * Forces the log to disk and closes it. The repository cannot be used afterwards.
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (closed) {
+      return;
+    }
+
+    try {
+      log.force(true);
+    } finally {
+      closed = true;
+      log.close();
+    }
+  }
+
+  /**
+   * Counts the records in the log. A record that runs past the end of the log was cut short while
+   * it was written and is removed.
+   */
+  private void recoverRecords() throws IOException {
+    long offset = LOG_HEADER_BYTES;
+    while (offset + Integer.BYTES <= logLength) {
+      int length = logBuffer.getInt((int) offset);
+      if (length < MIN_RECORD_BYTES || offset + Integer.BYTES + length > logLength) {
+        break;
+      }
+      offset += Integer.BYTES + length;
+      size++;
+    }
+
+    if (offset < logLength) {
+      log.truncate(offset);
+      logLength = offset;
+      mapLog();
+    }
+  }
+
+  private static ByteBuffer encode(Event event) {
+    byte[] title = event.getTitle().getBytes(StandardCharsets.UTF_8);
+    List<byte[]> attendees = new ArrayList<>();
+    int length = MIN_RECORD_BYTES + title.length;
+    for (String attendee : event.getAttendees()) {
+      byte[] name = attendee.getBytes(StandardCharsets.UTF_8);
+      attendees.add(name);
+      length += Integer.BYTES + name.length;
+    }
+
+    ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + length);
+    record.putInt(length);
+    record.putInt(event.getWhen().start());
+    record.putInt(event.getWhen().duration());
+    record.putInt(title.length).put(title);
+    record.putInt(attendees.size());
+    for (byte[] name : attendees) {
+      record.putInt(name.length).put(name);
+    }
+    record.flip();
+    return record;
+  }
+
+  private Event decode(long offset) {
+    ByteBuffer record = logBuffer.duplicate();
+    record.position((int) offset + Integer.BYTES);
+
+    int start = record.getInt();
+    int duration = record.getInt();
+    String title = readString(record);
+    int count = record.getInt();
+    List<String> attendees = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      attendees.add(readString(record));
+    }
+
+    return new Event(title, TimeRange.fromStartDuration(start, duration), attendees);
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.getInt()];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private void writeFully(ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      position += log.write(buffer, position);
+    }
+  }
+
+  /**
+   * Maps the log again if events were added since it was last mapped.
+   */
+  private void ensureMapped() {
+    if (logBuffer.capacity() < logLength) {
+      try {
+        mapLog();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  private void mapLog() throws IOException {
+    logBuffer = log.map(FileChannel.MapMode.READ_ONLY, 0, logLength);
+  }
+
+  private void checkOpen() {
+    if (closed) {
+      throw new IllegalStateException("the repository is closed");
+    }
+  }
+}
@@ -0,0 +1,280 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Books many meetings at once so that no attendee is booked twice. Answering each request on its
+ * own lets early requests take the times that later ones need, so requests are instead booked in
+ * order of how few times they can use, and a request that finds no time left undoes the bookings
+ * before it and tries their next times. Undoing bookings can take exponential time, so it stops
+ * once the time budget is used up, after which the remaining requests are booked greedily and the
+ * ones without a time are left unbooked.
+ *
+ * <p>Like {@code BitsetMeetingQuery}, the allocator keeps a mask of 1440 bits per attendee, one
+ * per minute of the day. A request's mandatory attendees must be free for the whole meeting, or
+ * its optional attendees if it has no mandatory ones. The optional attendees of a request with
+ * mandatory ones do not decide its time, but those who are free for the whole meeting are booked
+ * for it too, so that a later meeting cannot take the same time from them. Meetings start on a
+ * grid of {@code step} minutes, and each request is booked at the earliest time that works.
+ */
+public final class MeetingAllocator {
+  private static final int MINUTES_PER_DAY = TimeRange.WHOLE_DAY.duration();
+  private static final int WORDS_PER_DAY = (MINUTES_PER_DAY + Long.SIZE - 1) / Long.SIZE;
+
+  private final int step;
+  private final long budgetNanos;
+
+  /**
+   * Creates an allocator.
+   *
+   * @param step The minutes between the times a meeting can start. Must be positive.
+   * @param budget How long to spend undoing bookings before falling back to greedy booking. Must
+   *     not be negative.
+   */
+  public MeetingAllocator(int step, Duration budget) {
+    if (step <= 0) {
+      throw new IllegalArgumentException("step must be positive");
+    }
+
+    if (budget == null || budget.isNegative()) {
+      throw new IllegalArgumentException("budget cannot be null or negative");
+    }
+
+    this.step = step;
+    this.budgetNanos = budget.toNanos();
+  }
+
+  /**
+   * Books a time for each of {@code requests} around the events in {@code index} and each other.
+   * The result at each position is the time booked for the request at the same position, or null
+   * if no time was found for it.
+   */
+  public List<TimeRange> allocate(EventIndex index, List<MeetingRequest> requests) {
+    long deadline = System.nanoTime() + budgetNanos;
+    int count = requests.size();
+
+    // The busy minutes of each attendee, which bookings are added to.
+    Map<String, long[]> masksByAttendee = new HashMap<>();
+    long[][][] masks = new long[count][][];
+    long[][][] optionalMasks = new long[count][][];
+    int[] durations = new int[count];
+    int[][] candidates = new int[count][];
+
+    for (int i = 0; i < count; i++) {
+      MeetingRequest request = requests.get(i);
+      Collection<String> attendees = request.getAttendees().isEmpty()
+          ? request.getOptionalAttendees()
+          : request.getAttendees();
+
+      masks[i] = findMasks(index, attendees, masksByAttendee);
+      optionalMasks[i] = request.getAttendees().isEmpty()
+          ? new long[0][]
+          : findMasks(index, request.getOptionalAttendees(), masksByAttendee);
+
+      durations[i] = (int) Math.min(request.getDuration(), MINUTES_PER_DAY + 1);
+      candidates[i] = findCandidates(masks[i], durations[i]);
+    }
+
+    // Book the requests with the fewest possible times first, and among those the ones that are
+    // hardest to fit: the ones with more attendees, then the longer ones.
+    List<Integer> order = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      if (candidates[i].length > 0) {
+        order.add(i);
+      }
+    }
+    order.sort(Comparator.<Integer>comparingInt(i -> candidates[i].length)
+        .thenComparing(Comparator.<Integer>comparingInt(i -> masks[i].length).reversed())
+        .thenComparing(Comparator.<Integer>comparingInt(i -> durations[i]).reversed()));
+
+    int[] starts = new int[count];
+    Arrays.fill(starts, -1);
+
+    // The masks of the optional attendees booked for each request, so that undoing the booking
+    // frees exactly them.
+    long[][][] bookedOptional = new long[count][][];
+
+    // The candidate to try next for the request at each position of the order. Requests before
+    // the floor are never undone.
+    int[] next = new int[order.size()];
+    int floor = 0;
+    boolean backtracking = true;
+
+    int position = 0;
+    while (position < order.size()) {
+      int request = order.get(position);
+      int candidate = findFree(masks[request], candidates[request], next[position],
+          durations[request]);
+
+      if (candidate >= 0) {
+        starts[request] = candidates[request][candidate];
+        int end = starts[request] + durations[request];
+        setBusy(masks[request], starts[request], end, true);
+        bookedOptional[request] = findFreeMasks(optionalMasks[request], starts[request], end);
+        setBusy(bookedOptional[request], starts[request], end, true);
+        next[position] = candidate + 1;
+        position++;
+        continue;
+      }
+
+      if (backtracking && System.nanoTime() - deadline > 0) {
+        backtracking = false;
+      }
+
+      // Leave the request unbooked if there is nothing left to undo.
+      if (!backtracking || position == floor) {
+        next[position] = 0;
+        position++;
+        floor = position;
+        continue;
+      }
+
+      // Undo the previous booking, so that it is tried at its next time.
+      next[position] = 0;
+      position--;
+      int previous = order.get(position);
+      int end = starts[previous] + durations[previous];
+      setBusy(masks[previous], starts[previous], end, false);
+      setBusy(bookedOptional[previous], starts[previous], end, false);
+      starts[previous] = -1;
+    }
+
+    List<TimeRange> times = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      times.add(starts[i] < 0 ? null : TimeRange.fromStartDuration(starts[i], durations[i]));
+    }
+    return times;
+  }
+
+  /**
+   * Returns the busy minutes of each of {@code attendees}, shared through
+   * {@code masksByAttendee} so that bookings for one request are seen by the others.
+   */
+  private static long[][] findMasks(EventIndex index, Collection<String> attendees,
+      Map<String, long[]> masksByAttendee) {
+    long[][] masks = new long[attendees.size()][];
+    int attendee = 0;
+    for (String name : attendees) {
+      long[] mask = masksByAttendee.get(name);
+      if (mask == null) {
+        mask = toMask(index.getBusyTimes(name));
+        masksByAttendee.put(name, mask);
+      }
+      masks[attendee++] = mask;
+    }
+    return masks;
+  }
+
+  /**
+   * Returns the masks that are free from {@code start} to {@code end}.
+   */
+  private static long[][] findFreeMasks(long[][] masks, int start, int end) {
+    List<long[]> free = new ArrayList<>();
+    for (long[] mask : masks) {
+      if (isFree(new long[][] {mask}, start, end)) {
+        free.add(mask);
+      }
+    }
+    return free.toArray(new long[0][]);
+  }
+
+  /**
+   * Returns the starts on the grid where every mask is free for {@code duration} minutes.
+   */
+  private int[] findCandidates(long[][] masks, int duration) {
+    int[] starts = new int[MINUTES_PER_DAY / step + 1];
+    int count = 0;
+    for (int start = 0; start + duration <= MINUTES_PER_DAY; start += step) {
+      if (isFree(masks, start, start + duration)) {
+        starts[count++] = start;
+      }
+    }
+    return Arrays.copyOf(starts, count);
+  }
+
+  /**
+   * Returns the position of the first of {@code starts}, from position {@code from}, where every
+   * mask is free for {@code duration} minutes, or -1 if there is none.
+   */
+  private static int findFree(long[][] masks, int[] starts, int from, int duration) {
+    for (int i = from; i < starts.length; i++) {
+      if (isFree(masks, starts[i], starts[i] + duration)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static long[] toMask(TimeRangeList busyTimes) {
+    long[] mask = new long[WORDS_PER_DAY];
+    for (int i = 0; i < busyTimes.size(); i++) {
+      int start = Math.max(busyTimes.start(i), 0);
+      int end = Math.min(busyTimes.end(i), MINUTES_PER_DAY);
+      if (start < end) {
+        setBusy(new long[][] {mask}, start, end, true);
+      }
+    }
+    return mask;
+  }
+
+  private static boolean isFree(long[][] masks, int start, int end) {
+    for (long[] mask : masks) {
+      for (int word = start / Long.SIZE; word * Long.SIZE < end; word++) {
+        if ((mask[word] & wordMask(word, start, end)) != 0) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static void setBusy(long[][] masks, int start, int end, boolean busy) {
+    for (long[] mask : masks) {
+      for (int word = start / Long.SIZE; word * Long.SIZE < end; word++) {
+        if (busy) {
+          mask[word] |= wordMask(word, start, end);
+        } else {
+          mask[word] &= ~wordMask(word, start, end);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the bits of {@code word} that stand for minutes from {@code start} to {@code end},
+   * excluding {@code end}. The range must overlap the word.
+   */
+  private static long wordMask(int word, int start, int end) {
+    // Shifts only use the low six bits of the distance, so these are the bits from start upwards
+    // and the bits below end within their words.
+    long mask = -1L;
+    if (start > word * Long.SIZE) {
+      mask &= -1L << start;
+    }
+    if (end < (word + 1) * Long.SIZE) {
+      mask &= -1L >>> -end;
+    }
+    return mask;
+  }
+}
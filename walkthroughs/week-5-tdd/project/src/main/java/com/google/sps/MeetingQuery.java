@@ -0,0 +1,31 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Collection;
+
+/**
+ * An engine that finds the times during the day when a requested meeting can be held. Every
+ * implementation must return the same time ranges for the same events and request.
+ */
+public interface MeetingQuery {
+
+  /**
+   * Returns the time ranges, ordered by start time, where every mandatory attendee of
+   * {@code request} is free for at least the requested duration. Optional attendees are included
+   * when at least one such range also works for all of them.
+   */
+  Collection<TimeRange> query(Collection<Event> events, MeetingRequest request);
+}
@@ -30,6 +30,22 @@ public final class MeetingRequest {
   // The duration of the meeting in minutes.
   private final long duration;
 
+  // The seats and equipment that a room for this meeting needs. A capacity of zero means a seat
+  // for every attendee.
+  private int room_capacity = 0;
+  private final Collection<String> room_equipment = new HashSet<>();
+
+  // The attendees' IDs from the {@code AttendeeDictionary}, computed the first time they are
+  // needed. A set is only kept once every attendee has an ID, since an attendee without one may
+  // get one from a later event. Transient so that Gson neither reads nor writes them.
+  private transient AttendeeSet attendeeSet;
+  private transient AttendeeSet optionalAttendeeSet;
+
+  // Used by Gson, so that attendee lists missing from the JSON are left empty rather than null.
+  private MeetingRequest() {
+    this.duration = 0;
+  }
+
   public MeetingRequest(Collection<String> attendees, long duration) {
     this.duration = duration;
     this.attendees.addAll(attendees);
@@ -55,7 +71,72 @@ public final class MeetingRequest {
   public void addOptionalAttendee(String attendee) {
     if (!attendees.contains(attendee)) {
       optional_attendees.add(attendee);
+      optionalAttendeeSet = null;
+    }
+  }
+
+  /**
+   * Returns the IDs of the people who are required to attend this meeting. People who attend no
+   * event have no ID and are left out.
+   */
+  public AttendeeSet getAttendeeSet() {
+    if (attendeeSet != null) {
+      return attendeeSet;
+    }
+
+    AttendeeSet set = AttendeeSet.of(attendees);
+    if (set.size() == attendees.size()) {
+      attendeeSet = set;
+    }
+    return set;
+  }
+
+  /**
+   * Returns the IDs of the people who are optional to attend this meeting. People who attend no
+   * event have no ID and are left out.
+   */
+  public AttendeeSet getOptionalAttendeeSet() {
+    if (optionalAttendeeSet != null) {
+      return optionalAttendeeSet;
+    }
+
+    AttendeeSet set = AttendeeSet.of(optional_attendees);
+    if (set.size() == optional_attendees.size()) {
+      optionalAttendeeSet = set;
     }
+    return set;
+  }
+
+  /**
+   * Returns the number of seats that a room for this meeting needs. Unless it was set, this is one
+   * seat for every attendee, optional attendees included.
+   */
+  public int getRoomCapacity() {
+    return room_capacity > 0 ? room_capacity : attendees.size() + optional_attendees.size();
+  }
+
+  /**
+   * Sets the number of seats that a room for this meeting needs.
+   */
+  public void setRoomCapacity(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("capacity cannot be negative");
+    }
+    room_capacity = capacity;
+  }
+
+  /**
+   * Returns a read-only copy of the equipment that a room for this meeting needs.
+   */
+  public Collection<String> getRoomEquipment() {
+    return Collections.unmodifiableCollection(room_equipment);
+  }
+
+  /**
+   * Adds one piece of equipment that a room for this meeting needs.
+   */
+  public void addRoomEquipment(String equipment) {
+    room_equipment.add(equipment);
   }
 
   /**
@@ -0,0 +1,180 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the answers to recent queries, so that asking the same question again does not run
+ * the query again. Requests are keyed by their sorted attendee names, optional attendee names
+ * and duration, so the order in which attendees were listed does not matter, and caching a
+ * request does not give its attendees dictionary IDs. The key also holds the version of the
+ * calendar the answer was computed from, and every answer from an older version is dropped as
+ * soon as a newer version is seen. Once the cache is full, the least recently used answer is
+ * dropped.
+ *
+ * <p>All methods are synchronized, but queries run outside of the lock, so two threads asking the
+ * same new question at once may both run the query.
+ */
+public final class QueryCache {
+  private final int capacity;
+  private final Map<Key, Collection<TimeRange>> answers;
+  private long version = Long.MIN_VALUE;
+
+  private long hits = 0;
+  private long misses = 0;
+  private long evictions = 0;
+
+  /**
+   * Creates a cache holding up to {@code capacity} answers.
+   */
+  public QueryCache(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+
+    this.capacity = capacity;
+
+    // An access-ordered map keeps the least recently used answer first.
+    this.answers = new LinkedHashMap<Key, Collection<TimeRange>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Collection<TimeRange>> eldest) {
+        if (size() > QueryCache.this.capacity) {
+          evictions++;
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Returns the answer to {@code request} in {@code mode} against version {@code version} of the
+   * calendar, running {@code query} if it is not cached. The mode tells apart queries that give
+   * different answers to the same request. The returned collection is read-only.
+   */
+  public Collection<TimeRange> get(MeetingRequest request, String mode, long version,
+      Supplier<? extends Collection<TimeRange>> query) {
+    Key key = new Key(request, mode, version);
+
+    synchronized (this) {
+      if (version > this.version) {
+        answers.clear();
+        this.version = version;
+      }
+
+      Collection<TimeRange> answer = answers.get(key);
+      if (answer != null) {
+        hits++;
+        return answer;
+      }
+      misses++;
+    }
+
+    Collection<TimeRange> answer = Collections.unmodifiableList(new ArrayList<>(query.get()));
+
+    synchronized (this) {
+      // Do not keep answers about a calendar that changed while the query ran.
+      if (version == this.version) {
+        answers.put(key, answer);
+      }
+    }
+    return answer;
+  }
+
+  /**
+   * Returns the number of answers in the cache.
+   */
+  public synchronized int size() {
+    return answers.size();
+  }
+
+  /**
+   * Returns the number of requests answered from the cache.
+   */
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  /**
+   * Returns the number of requests that had to run the query.
+   */
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Returns the number of answers dropped to make room for newer ones.
+   */
+  public synchronized long getEvictions() {
+    return evictions;
+  }
+
+  /**
+   * The canonical form of a request. Attendees are kept as sorted names rather than dictionary
+   * IDs, so that caching a request never gives its names IDs.
+   */
+  private static final class Key {
+    private final String[] attendees;
+    private final String[] optionalAttendees;
+    private final long duration;
+    private final String mode;
+    private final long version;
+    private final int hashCode;
+
+    Key(MeetingRequest request, String mode, long version) {
+      this.attendees = sortedNames(request.getAttendees());
+      this.optionalAttendees = sortedNames(request.getOptionalAttendees());
+      this.duration = request.getDuration();
+      this.mode = mode;
+      this.version = version;
+
+      int hash = Arrays.hashCode(attendees);
+      hash = 31 * hash + Arrays.hashCode(optionalAttendees);
+      hash = 31 * hash + Long.hashCode(duration);
+      hash = 31 * hash + mode.hashCode();
+      this.hashCode = 31 * hash + Long.hashCode(version);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Key)) {
+        return false;
+      }
+
+      Key key = (Key) other;
+      return hashCode == key.hashCode && duration == key.duration && version == key.version
+          && mode.equals(key.mode) && Arrays.equals(attendees, key.attendees)
+          && Arrays.equals(optionalAttendees, key.optionalAttendees);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    private static String[] sortedNames(Collection<String> names) {
+      String[] sorted = names.toArray(new String[0]);
+      Arrays.sort(sorted);
+      return sorted;
+    }
+  }
+}
@@ -0,0 +1,113 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Comparator;
+
+/**
+ * A suggested meeting time together with the reasons it was ranked where it was. Slots are ranked
+ * by how many optional attendees can come, then by whether they fall within the preferred hours,
+ * then by the free time around them, and finally by how early they start.
+ */
+public final class RankedSlot {
+  /**
+   * A comparator for sorting slots from best to worst.
+   */
+  public static final Comparator<RankedSlot> ORDER_BY_RANK = new Comparator<RankedSlot>() {
+    @Override
+    public int compare(RankedSlot a, RankedSlot b) {
+      if (a.availableOptionalAttendees != b.availableOptionalAttendees) {
+        return Integer.compare(b.availableOptionalAttendees, a.availableOptionalAttendees);
+      }
+      if (a.inPreferredHours != b.inPreferredHours) {
+        return a.inPreferredHours ? -1 : 1;
+      }
+      if (a.buffer != b.buffer) {
+        return Integer.compare(b.buffer, a.buffer);
+      }
+      return Integer.compare(a.when.start(), b.when.start());
+    }
+  };
+
+  private final TimeRange when;
+  private final int availableOptionalAttendees;
+  private final boolean inPreferredHours;
+  private final int buffer;
+
+  /**
+   * Creates a ranked slot.
+   *
+   * @param when The time of the meeting. Must be non-null.
+   * @param availableOptionalAttendees The number of optional attendees who are free.
+   * @param inPreferredHours Whether the meeting is within the preferred hours.
+   * @param buffer The free minutes on the tighter side of the meeting, capped at the wanted
+   *     buffer.
+   */
+  public RankedSlot(TimeRange when, int availableOptionalAttendees, boolean inPreferredHours,
+      int buffer) {
+    if (when == null) {
+      throw new IllegalArgumentException("when cannot be null");
+    }
+
+    this.when = when;
+    this.availableOptionalAttendees = availableOptionalAttendees;
+    this.inPreferredHours = inPreferredHours;
+    this.buffer = buffer;
+  }
+
+  public TimeRange getWhen() {
+    return when;
+  }
+
+  /**
+   * Returns the number of optional attendees who are free for the whole meeting.
+   */
+  public int getAvailableOptionalAttendees() {
+    return availableOptionalAttendees;
+  }
+
+  public boolean isInPreferredHours() {
+    return inPreferredHours;
+  }
+
+  /**
+   * Returns the free minutes on the tighter side of the meeting, capped at the wanted buffer.
+   */
+  public int getBuffer() {
+    return buffer;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof RankedSlot)) {
+      return false;
+    }
+
+    RankedSlot slot = (RankedSlot) other;
+    return when.equals(slot.when) && availableOptionalAttendees == slot.availableOptionalAttendees
+        && inPreferredHours == slot.inPreferredHours && buffer == slot.buffer;
+  }
+
+  @Override
+  public int hashCode() {
+    return when.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s, %d optional, %s, buffer %d", when, availableOptionalAttendees,
+        inPreferredHours ? "preferred" : "not preferred", buffer);
+  }
+}
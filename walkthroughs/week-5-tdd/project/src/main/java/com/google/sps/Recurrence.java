@@ -0,0 +1,155 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The dates on which a recurring event takes place: every {@code interval} days, or on some days
+ * of every {@code interval} weeks, from a first date until an optional last date, skipping any
+ * exception dates. Weeks start on Monday. Recurrences are read-only; the methods that change one
+ * return a new recurrence.
+ */
+public final class Recurrence {
+  /**
+   * How often a recurrence repeats.
+   */
+  public enum Frequency {
+    DAILY,
+    WEEKLY
+  }
+
+  private final Frequency frequency;
+  private final int interval;
+  private final Set<DayOfWeek> days;
+  private final LocalDate firstDate;
+  private final LocalDate lastDate;
+  private final Set<LocalDate> exceptions;
+
+  private Recurrence(Frequency frequency, int interval, Set<DayOfWeek> days, LocalDate firstDate,
+      LocalDate lastDate, Set<LocalDate> exceptions) {
+    this.frequency = frequency;
+    this.interval = interval;
+    this.days = days;
+    this.firstDate = firstDate;
+    this.lastDate = lastDate;
+    this.exceptions = exceptions;
+  }
+
+  /**
+   * Creates a recurrence that takes place every day, starting on {@code firstDate}.
+   */
+  public static Recurrence daily(LocalDate firstDate) {
+    if (firstDate == null) {
+      throw new IllegalArgumentException("firstDate cannot be null");
+    }
+    return new Recurrence(Frequency.DAILY, 1, EnumSet.allOf(DayOfWeek.class), firstDate, null,
+        Collections.emptySet());
+  }
+
+  /**
+   * Creates a recurrence that takes place every week on {@code days}, starting on
+   * {@code firstDate}. Without any days, it takes place on the day of the week of
+   * {@code firstDate}.
+   */
+  public static Recurrence weekly(LocalDate firstDate, DayOfWeek... days) {
+    if (firstDate == null) {
+      throw new IllegalArgumentException("firstDate cannot be null");
+    }
+
+    Set<DayOfWeek> weekDays = EnumSet.noneOf(DayOfWeek.class);
+    weekDays.addAll(Arrays.asList(days));
+    if (weekDays.isEmpty()) {
+      weekDays.add(firstDate.getDayOfWeek());
+    }
+    return new Recurrence(Frequency.WEEKLY, 1, weekDays, firstDate, null, Collections.emptySet());
+  }
+
+  /**
+   * Returns a recurrence that only repeats every {@code interval} days or weeks.
+   */
+  public Recurrence every(int interval) {
+    if (interval <= 0) {
+      throw new IllegalArgumentException("interval must be positive");
+    }
+    return new Recurrence(frequency, interval, days, firstDate, lastDate, exceptions);
+  }
+
+  /**
+   * Returns a recurrence that ends on {@code lastDate}, including it.
+   */
+  public Recurrence until(LocalDate lastDate) {
+    if (lastDate == null) {
+      throw new IllegalArgumentException("lastDate cannot be null");
+    }
+    return new Recurrence(frequency, interval, days, firstDate, lastDate, exceptions);
+  }
+
+  /**
+   * Returns a recurrence that skips {@code date}.
+   */
+  public Recurrence except(LocalDate date) {
+    if (date == null) {
+      throw new IllegalArgumentException("date cannot be null");
+    }
+
+    Set<LocalDate> newExceptions = new HashSet<>(exceptions);
+    newExceptions.add(date);
+    return new Recurrence(frequency, interval, days, firstDate, lastDate,
+        Collections.unmodifiableSet(newExceptions));
+  }
+
+  public Frequency getFrequency() {
+    return frequency;
+  }
+
+  public LocalDate getFirstDate() {
+    return firstDate;
+  }
+
+  /**
+   * Returns the last date the recurrence can take place on, or null if it never ends.
+   */
+  public LocalDate getLastDate() {
+    return lastDate;
+  }
+
+  /**
+   * Checks if the recurrence takes place on {@code date}.
+   */
+  public boolean occursOn(LocalDate date) {
+    if (date.isBefore(firstDate) || (lastDate != null && date.isAfter(lastDate))
+        || exceptions.contains(date)) {
+      return false;
+    }
+
+    if (frequency == Frequency.DAILY) {
+      return ChronoUnit.DAYS.between(firstDate, date) % interval == 0;
+    }
+
+    LocalDate firstWeek = firstDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    LocalDate week = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    return days.contains(date.getDayOfWeek())
+        && ChronoUnit.WEEKS.between(firstWeek, week) % interval == 0;
+  }
+}
@@ -0,0 +1,131 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An event that takes place at the same local time on every date of a {@code Recurrence}. Its
+ * occurrences are only created for the window that is asked for, so a recurring event takes the
+ * same memory however long it repeats. Recurring events are considered read-only.
+ */
+public final class RecurringEvent {
+  private final String title;
+  private final TimeRange when;
+  private final Set<String> attendees = new HashSet<>();
+  private final Recurrence recurrence;
+  private final ZoneId zone;
+
+  /**
+   * Creates a new recurring event.
+   *
+   * @param title The human-readable name for the event. Must be non-null.
+   * @param when The local time of day when each occurrence takes place. Must be non-null.
+   * @param attendees The collection of people attending the event. Must be non-null.
+   * @param recurrence The dates when the event takes place. Must be non-null.
+   * @param zone The time zone that {@code when} and the dates are in. Must be non-null.
+   */
+  public RecurringEvent(String title, TimeRange when, Collection<String> attendees,
+      Recurrence recurrence, ZoneId zone) {
+    if (title == null) {
+      throw new IllegalArgumentException("title cannot be null");
+    }
+
+    if (when == null) {
+      throw new IllegalArgumentException("when cannot be null");
+    }
+
+    if (attendees == null) {
+      throw new IllegalArgumentException("attendees cannot be null. Use empty array instead.");
+    }
+
+    if (recurrence == null) {
+      throw new IllegalArgumentException("recurrence cannot be null");
+    }
+
+    if (zone == null) {
+      throw new IllegalArgumentException("zone cannot be null");
+    }
+
+    this.title = title;
+    this.when = when;
+    this.attendees.addAll(attendees);
+    this.recurrence = recurrence;
+    this.zone = zone;
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  /**
+   * Returns the local time of day when each occurrence takes place.
+   */
+  public TimeRange getWhen() {
+    return when;
+  }
+
+  /**
+   * Returns a read-only set of required attendees for this event.
+   */
+  public Set<String> getAttendees() {
+    return Collections.unmodifiableSet(attendees);
+  }
+
+  public Recurrence getRecurrence() {
+    return recurrence;
+  }
+
+  public ZoneId getZone() {
+    return zone;
+  }
+
+  /**
+   * Returns the occurrences of this event that overlap {@code window}, sorted by start time. Only
+   * the dates within the window are looked at.
+   */
+  public List<CalendarEvent> findOccurrences(EpochRange window) {
+    // An occurrence always falls within its own date, give or take a daylight saving shift, so
+    // the day before the window is the earliest date one could overlap it from.
+    LocalDate date = window.startInstant().atZone(zone).toLocalDate().minusDays(1);
+    LocalDate lastDate = window.endInstant().atZone(zone).toLocalDate();
+    if (date.isBefore(recurrence.getFirstDate())) {
+      date = recurrence.getFirstDate();
+    }
+    if (recurrence.getLastDate() != null && lastDate.isAfter(recurrence.getLastDate())) {
+      lastDate = recurrence.getLastDate();
+    }
+
+    List<CalendarEvent> occurrences = new ArrayList<>();
+    for (; !date.isAfter(lastDate); date = date.plusDays(1)) {
+      if (!recurrence.occursOn(date)) {
+        continue;
+      }
+
+      EpochRange occurrence = EpochRange.fromLocalTimes(date, when, zone);
+      if (occurrence.overlaps(window)) {
+        occurrences.add(new CalendarEvent(title, occurrence, attendees));
+      }
+    }
+    return occurrences;
+  }
+}
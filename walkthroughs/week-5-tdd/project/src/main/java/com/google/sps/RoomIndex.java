@@ -0,0 +1,140 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index of rooms for finding the ones that suit a meeting without checking every room. Rooms
+ * are sorted by capacity, so the rooms that are too small are skipped with a binary search, and
+ * each room's equipment is stored as a bitmap with one bit per kind of equipment, so checking that
+ * a room has everything needed is a few word operations. Like rooms, an index is read-only once it
+ * has been created.
+ */
+public final class RoomIndex {
+  private static final Comparator<Room> ORDER_BY_CAPACITY = new Comparator<Room>() {
+    @Override
+    public int compare(Room a, Room b) {
+      if (a.getCapacity() != b.getCapacity()) {
+        return Integer.compare(a.getCapacity(), b.getCapacity());
+      }
+      return a.getName().compareTo(b.getName());
+    }
+  };
+
+  private final Room[] rooms;
+  private final int[] capacities;
+  private final long[][] equipment;
+
+  // Gives each kind of equipment its bit.
+  private final Map<String, Integer> equipmentBits = new HashMap<>();
+
+  /**
+   * Creates an index of {@code rooms}.
+   *
+   * @param rooms The rooms to index. Must be non-null.
+   */
+  public RoomIndex(Collection<Room> rooms) {
+    if (rooms == null) {
+      throw new IllegalArgumentException("rooms cannot be null");
+    }
+
+    this.rooms = rooms.toArray(new Room[0]);
+    Arrays.sort(this.rooms, ORDER_BY_CAPACITY);
+
+    for (Room room : this.rooms) {
+      for (String item : room.getEquipment()) {
+        if (!equipmentBits.containsKey(item)) {
+          equipmentBits.put(item, equipmentBits.size());
+        }
+      }
+    }
+
+    capacities = new int[this.rooms.length];
+    equipment = new long[this.rooms.length][];
+    for (int i = 0; i < this.rooms.length; i++) {
+      capacities[i] = this.rooms[i].getCapacity();
+      equipment[i] = toBits(this.rooms[i].getEquipment());
+    }
+  }
+
+  /**
+   * Returns the number of rooms in the index.
+   */
+  public int size() {
+    return rooms.length;
+  }
+
+  /**
+   * Returns the rooms with at least {@code capacity} seats and all of {@code neededEquipment},
+   * smallest first. Rooms of the same size are ordered by name.
+   */
+  public List<Room> findSuitable(int capacity, Collection<String> neededEquipment) {
+    // No room can have equipment that no room has.
+    for (String item : neededEquipment) {
+      if (!equipmentBits.containsKey(item)) {
+        return Collections.emptyList();
+      }
+    }
+    long[] needed = toBits(neededEquipment);
+
+    List<Room> suitable = new ArrayList<>();
+    for (int i = firstWithCapacity(capacity); i < rooms.length; i++) {
+      if (containsAll(equipment[i], needed)) {
+        suitable.add(rooms[i]);
+      }
+    }
+    return suitable;
+  }
+
+  private int firstWithCapacity(int capacity) {
+    int low = 0;
+    int high = capacities.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (capacities[middle] < capacity) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private long[] toBits(Collection<String> items) {
+    long[] bits = new long[(equipmentBits.size() + Long.SIZE - 1) / Long.SIZE];
+    for (String item : items) {
+      int bit = equipmentBits.get(item);
+      bits[bit / Long.SIZE] |= 1L << bit;
+    }
+    return bits;
+  }
+
+  private static boolean containsAll(long[] bits, long[] needed) {
+    for (int i = 0; i < needed.length; i++) {
+      if ((needed[i] & ~bits[i]) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,79 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+/**
+ * What makes one meeting time better than another when suggesting times. Slots within the
+ * preferred hours rank higher, as do slots with at least {@code buffer} free minutes before and
+ * after them. Only slots starting at the start of a free range or on a multiple of {@code step}
+ * minutes are suggested, so that suggestions are not a minute apart.
+ */
+public final class SlotPreferences {
+  /**
+   * Office hours, a 15 minute buffer and slots every 15 minutes.
+   */
+  public static final SlotPreferences DEFAULT = new SlotPreferences(
+      TimeRange.fromStartEnd(TimeRange.getTimeInMinutes(9, 0), TimeRange.getTimeInMinutes(17, 0),
+          false), 15, 15);
+
+  private final TimeRange preferredHours;
+  private final int buffer;
+  private final int step;
+
+  /**
+   * Creates preferences for suggesting meeting times.
+   *
+   * @param preferredHours The part of the day when meetings are preferred. Must be non-null.
+   * @param buffer The number of free minutes wanted before and after a meeting. Must not be
+   *     negative.
+   * @param step The number of minutes between suggested start times. Must be positive.
+   */
+  public SlotPreferences(TimeRange preferredHours, int buffer, int step) {
+    if (preferredHours == null) {
+      throw new IllegalArgumentException("preferredHours cannot be null");
+    }
+
+    if (buffer < 0) {
+      throw new IllegalArgumentException("buffer cannot be negative");
+    }
+
+    if (step <= 0) {
+      throw new IllegalArgumentException("step must be positive");
+    }
+
+    this.preferredHours = preferredHours;
+    this.buffer = buffer;
+    this.step = step;
+  }
+
+  public TimeRange getPreferredHours() {
+    return preferredHours;
+  }
+
+  /**
+   * Returns the number of free minutes wanted before and after a meeting. More free time than
+   * this does not make a slot any better.
+   */
+  public int getBuffer() {
+    return buffer;
+  }
+
+  /**
+   * Returns the number of minutes between suggested start times.
+   */
+  public int getStep() {
+    return step;
+  }
+}
@@ -0,0 +1,160 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * A calendar that can be changed while it is being queried. Readers take the current
+ * {@code CalendarSnapshot} without locking and keep using it for as long as they need. Writers
+ * build the next snapshot from the current one, sharing the events of every attendee the change
+ * does not touch, and then swap it in with a single volatile write. Writers are serialized with
+ * each other, so no change is lost, but they never block readers.
+ *
+ * <p>The last few snapshots are kept by version, so that a client can ask what changed since the
+ * version it last saw, and listeners are told about every new snapshot.
+ */
+public final class SnapshotCalendar {
+  // How many versions are kept for clients that ask what changed since them.
+  private static final int KEPT_VERSIONS = 64;
+
+  private volatile CalendarSnapshot snapshot;
+  private final Map<Long, CalendarSnapshot> recentSnapshots = new ConcurrentHashMap<>();
+  private final List<Consumer<CalendarSnapshot>> listeners = new CopyOnWriteArrayList<>();
+
+  public SnapshotCalendar() {
+    this(Arrays.<Event>asList());
+  }
+
+  /**
+   * Creates a calendar holding {@code events}.
+   */
+  public SnapshotCalendar(Collection<Event> events) {
+    this(new EventIndex(events), events.size());
+  }
+
+  /**
+   * Creates a calendar holding the {@code size} events in {@code index}, for callers that built
+   * the index themselves while reading the events.
+   */
+  public SnapshotCalendar(EventIndex index, int size) {
+    snapshot = new CalendarSnapshot(0, size, index);
+    recentSnapshots.put(snapshot.getVersion(), snapshot);
+  }
+
+  /**
+   * Returns the current version of the calendar.
+   */
+  public CalendarSnapshot snapshot() {
+    return snapshot;
+  }
+
+  /**
+   * Returns the snapshot with {@code version}, or null if it is not one of the last few versions.
+   */
+  public CalendarSnapshot snapshot(long version) {
+    return recentSnapshots.get(version);
+  }
+
+  /**
+   * Calls {@code listener} with every new snapshot, on the thread that changed the calendar, after
+   * the snapshot has been swapped in.
+   */
+  public void addListener(Consumer<CalendarSnapshot> listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(Consumer<CalendarSnapshot> listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Adds {@code event} to the calendar.
+   */
+  public void addEvent(Event event) {
+    addEvents(Arrays.asList(event));
+  }
+
+  /**
+   * Adds all of {@code events} to the calendar as one change, so readers see either none or all of
+   * them.
+   */
+  public void addEvents(Collection<Event> events) {
+    CalendarSnapshot added;
+    synchronized (this) {
+      CalendarSnapshot current = snapshot;
+      added = swap(new CalendarSnapshot(current.getVersion() + 1, current.size() + events.size(),
+          current.getIndex().withEvents(events)));
+    }
+    notifyListeners(added);
+  }
+
+  /**
+   * Adds the {@code size} events in {@code added}, which the caller indexed as it read them, to
+   * the calendar as one change. The index is merged into the current one without sorting any
+   * attendee's events again, and listeners are told once.
+   */
+  public void addEvents(EventIndex added, int size) {
+    CalendarSnapshot next;
+    synchronized (this) {
+      CalendarSnapshot current = snapshot;
+      next = swap(new CalendarSnapshot(current.getVersion() + 1, current.size() + size,
+          current.getIndex().withEvents(added)));
+    }
+    notifyListeners(next);
+  }
+
+  /**
+   * Removes {@code event} from the calendar. Returns {@code false} if the calendar did not hold
+   * the event.
+   */
+  public boolean removeEvent(Event event) {
+    CalendarSnapshot removed;
+    synchronized (this) {
+      CalendarSnapshot current = snapshot;
+      EventIndex index = current.getIndex();
+      if (!index.contains(event)) {
+        return false;
+      }
+
+      removed = swap(new CalendarSnapshot(current.getVersion() + 1, current.size() - 1,
+          index.withoutEvents(Arrays.asList(event))));
+    }
+    notifyListeners(removed);
+    return true;
+  }
+
+  /**
+   * Makes {@code next} the current snapshot. Must be called while holding the calendar's lock.
+   */
+  private CalendarSnapshot swap(CalendarSnapshot next) {
+    recentSnapshots.put(next.getVersion(), next);
+    recentSnapshots.remove(next.getVersion() - KEPT_VERSIONS);
+    snapshot = next;
+    return next;
+  }
+
+  private void notifyListeners(CalendarSnapshot next) {
+    for (Consumer<CalendarSnapshot> listener : listeners) {
+      listener.accept(next);
+    }
+  }
+}
@@ -0,0 +1,248 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Events sorted by start time, with their start and end times kept in primitive arrays so that
+ * lookups are binary searches over ints instead of calls on {@code TimeRange} objects. The events
+ * are sorted by sorting packed {@code long} keys, which does not call a comparator at all. Like
+ * events, the array is read-only once it has been created.
+ */
+public final class SortedEventArray {
+  private final Event[] events;
+  private final int[] starts;
+  private final int[] ends;
+
+  // The latest end of the events up to and including each position. It never decreases, so the
+  // events that end too early to overlap a range form a prefix that can be binary searched.
+  private final int[] maxEnds;
+
+  // The times covered by at least one event, with touching times merged.
+  private final TimeRangeList busyTimes;
+
+  /**
+   * Creates an array of {@code events}. Events that start at the same time keep their order.
+   *
+   * @param events The events to sort. Must be non-null.
+   */
+  public SortedEventArray(Collection<Event> events) {
+    this(sortByStart(events));
+  }
+
+  // Takes ownership of {@code sorted}, which must be sorted by start time.
+  private SortedEventArray(Event[] sorted) {
+    events = sorted;
+    starts = new int[sorted.length];
+    ends = new int[sorted.length];
+    maxEnds = new int[sorted.length];
+    TimeRangeList times = new TimeRangeList(sorted.length);
+    for (int i = 0; i < sorted.length; i++) {
+      starts[i] = sorted[i].getWhen().start();
+      ends[i] = sorted[i].getWhen().end();
+      maxEnds[i] = i == 0 ? ends[i] : Math.max(maxEnds[i - 1], ends[i]);
+      times.add(starts[i], ends[i]);
+    }
+    busyTimes = times.union(new TimeRangeList());
+  }
+
+  private static Event[] sortByStart(Collection<Event> events) {
+    if (events == null) {
+      throw new IllegalArgumentException("events cannot be null");
+    }
+
+    Event[] unsorted = events.toArray(new Event[0]);
+
+    // Each key holds the start time in its high half and the event's position in its low half, so
+    // sorting the keys sorts the events by start time and keeps ties in their original order.
+    long[] keys = new long[unsorted.length];
+    for (int i = 0; i < unsorted.length; i++) {
+      keys[i] = ((long) unsorted[i].getWhen().start() << 32) | i;
+    }
+    Arrays.sort(keys);
+
+    Event[] sorted = new Event[unsorted.length];
+    for (int i = 0; i < unsorted.length; i++) {
+      sorted[i] = unsorted[(int) keys[i]];
+    }
+    return sorted;
+  }
+
+  /**
+   * Returns an array of the events in this array and in {@code other}. Both are already sorted, so
+   * they are merged in a single pass instead of being sorted again. Events that start at the same
+   * time keep their order, and the events of this array come before those of {@code other}.
+   */
+  public SortedEventArray mergeWith(SortedEventArray other) {
+    Event[] merged = new Event[events.length + other.events.length];
+    int i = 0;
+    int j = 0;
+    for (int k = 0; k < merged.length; k++) {
+      if (j == other.events.length || (i < events.length && starts[i] <= other.starts[j])) {
+        merged[k] = events[i++];
+      } else {
+        merged[k] = other.events[j++];
+      }
+    }
+    return new SortedEventArray(merged);
+  }
+
+  /**
+   * Returns the number of events in the array.
+   */
+  public int size() {
+    return events.length;
+  }
+
+  /**
+   * Returns the event at {@code index}.
+   */
+  public Event get(int index) {
+    return events[index];
+  }
+
+  /**
+   * Returns a read-only list view of the events, sorted by start time.
+   */
+  public List<Event> asList() {
+    return new AbstractList<Event>() {
+      @Override
+      public Event get(int index) {
+        return events[index];
+      }
+
+      @Override
+      public int size() {
+        return events.length;
+      }
+    };
+  }
+
+  /**
+   * Returns the events that overlap {@code range}, as decided by {@link TimeRange#overlaps},
+   * sorted by start time. Events that start after the range or end before it are skipped with
+   * binary searches.
+   */
+  public List<Event> eventsOverlapping(TimeRange range) {
+    int rangeStart = range.start();
+    int rangeEnd = range.end();
+
+    // An overlapping event contains the start of the range, or the range contains its start.
+    int from = firstEndingAtOrAfter(rangeStart);
+    int to = firstStartingAfter(Math.max(rangeEnd - 1, rangeStart));
+
+    List<Event> overlapping = new ArrayList<>();
+    for (int i = from; i < to; i++) {
+      if ((starts[i] <= rangeStart && rangeStart < ends[i])
+          || (rangeStart <= starts[i] && starts[i] < rangeEnd)) {
+        overlapping.add(events[i]);
+      }
+    }
+    return overlapping;
+  }
+
+  /**
+   * Checks if the array holds an event equal to {@code event}. Only the events with the same start
+   * time are compared.
+   */
+  public boolean contains(Event event) {
+    int start = event.getWhen().start();
+    for (int i = firstStartingAfter(start - 1); i < starts.length && starts[i] == start; i++) {
+      if (events[i].equals(event)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Checks if no event overlaps {@code range}.
+   */
+  public boolean isFree(TimeRange range) {
+    return eventsOverlapping(range).isEmpty();
+  }
+
+  /**
+   * Returns the first minute at or after {@code time} that no event covers. Events with no
+   * duration cover no minute.
+   */
+  public int nextFreeAfter(int time) {
+    // Find the last busy time starting at or before the time.
+    int low = 0;
+    int high = busyTimes.size();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (busyTimes.start(middle) <= time) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+
+    // Busy times that touch are merged, so the end of the busy time covering the time is free.
+    if (low > 0 && busyTimes.contains(low - 1, time)) {
+      return busyTimes.end(low - 1);
+    }
+    return time;
+  }
+
+  /**
+   * Returns the times when at least one event is taking place, sorted by start time with
+   * overlapping and touching times merged. The returned list is a copy that the caller may keep.
+   */
+  public TimeRangeList getBusyTimes() {
+    return busyTimes.union(new TimeRangeList());
+  }
+
+  /**
+   * Returns the position of the first event that ends at or after {@code time} or of an event
+   * after it, skipping only events that end before {@code time}.
+   */
+  private int firstEndingAtOrAfter(int time) {
+    int low = 0;
+    int high = maxEnds.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (maxEnds[middle] < time) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Returns the position of the first event that starts after {@code time}.
+   */
+  private int firstStartingAfter(int time) {
+    int low = 0;
+    int high = starts.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (starts[middle] <= time) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+}
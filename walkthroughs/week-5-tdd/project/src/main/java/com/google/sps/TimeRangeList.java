@@ -0,0 +1,338 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A list of time ranges stored as start and end pairs in a single {@code int} array, so building
+ * and combining ranges does not allocate an object per range. Ranges follow the same rules as
+ * {@code TimeRange}: the end is the closing exclusive bound, and {@code overlaps} and
+ * {@code contains} give the same answers. They are only turned into {@code TimeRange} objects by
+ * {@code toTimeRanges}.
+ */
+public final class TimeRangeList {
+  // Work on at least this many lists, or this many attendees, is split across the common
+  // ForkJoinPool. Smaller batches finish faster than the cost of handing them to other threads.
+  static final int PARALLEL_THRESHOLD = 64;
+
+  private int[] bounds;
+  private int size = 0;
+
+  /**
+   * Creates an empty list.
+   */
+  public TimeRangeList() {
+    this(8);
+  }
+
+  /**
+   * Creates an empty list with room for {@code capacity} ranges before it has to grow.
+   */
+  public TimeRangeList(int capacity) {
+    bounds = new int[Math.max(capacity, 1) * 2];
+  }
+
+  /**
+   * Creates a list holding the same ranges as {@code ranges}, in the same order.
+   */
+  public static TimeRangeList of(Collection<TimeRange> ranges) {
+    TimeRangeList list = new TimeRangeList(ranges.size());
+    for (TimeRange range : ranges) {
+      list.add(range.start(), range.end());
+    }
+    return list;
+  }
+
+  /**
+   * Adds the range from {@code start} to {@code end}, excluding {@code end}, to the end of the
+   * list.
+   */
+  public void add(int start, int end) {
+    if (size * 2 == bounds.length) {
+      bounds = Arrays.copyOf(bounds, bounds.length * 2);
+    }
+    bounds[size * 2] = start;
+    bounds[size * 2 + 1] = end;
+    size++;
+  }
+
+  /**
+   * Returns the number of ranges in the list.
+   */
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the start of the range at {@code index} in minutes.
+   */
+  public int start(int index) {
+    return bounds[checkIndex(index) * 2];
+  }
+
+  /**
+   * Returns the end of the range at {@code index}. This ending value is the closing exclusive
+   * bound.
+   */
+  public int end(int index) {
+    return bounds[checkIndex(index) * 2 + 1];
+  }
+
+  /**
+   * Returns the number of minutes between the start and end of the range at {@code index}.
+   */
+  public int duration(int index) {
+    return end(index) - start(index);
+  }
+
+  /**
+   * Checks if the range at {@code index} overlaps the range from {@code start} to {@code end}. This
+   * matches {@code TimeRange.overlaps}.
+   */
+  public boolean overlaps(int index, int start, int end) {
+    return rangeOverlaps(start(index), end(index), start, end);
+  }
+
+  /**
+   * Checks if the range at {@code index} completely contains the range from {@code start} to
+   * {@code end}. This matches {@code TimeRange.contains(TimeRange)}.
+   */
+  public boolean contains(int index, int start, int end) {
+    return rangeContains(start(index), end(index), start, end);
+  }
+
+  /**
+   * Checks if the range at {@code index} contains {@code point}. This matches
+   * {@code TimeRange.contains(int)}.
+   */
+  public boolean contains(int index, int point) {
+    return rangeContains(start(index), end(index), point);
+  }
+
+  /**
+   * Returns the ranges where a range in this list overlaps a range in {@code other} for at least
+   * {@code duration} minutes.
+   *
+   * <p>Both lists must be sorted by start time and must not contain overlapping ranges. This lets
+   * the two lists be merged in a single pass, always moving past whichever current range ends
+   * first.
+   */
+  public TimeRangeList intersect(TimeRangeList other, long duration) {
+    TimeRangeList times = new TimeRangeList(Math.min(size, other.size) + 1);
+
+    int i = 0;
+    int j = 0;
+    while (i < size && j < other.size) {
+      int thisEnd = bounds[i * 2 + 1];
+      int otherEnd = other.bounds[j * 2 + 1];
+      int start = Math.max(bounds[i * 2], other.bounds[j * 2]);
+      int end = Math.min(thisEnd, otherEnd);
+
+      if (end > start && end - start >= duration) {
+        times.add(start, end);
+      }
+
+      // The range that ends first cannot overlap anything else in the other list.
+      if (thisEnd <= otherEnd) {
+        i++;
+      } else {
+        j++;
+      }
+    }
+
+    return times;
+  }
+
+  /**
+   * Returns the parts of the ranges in this list that no range in {@code other} covers. Parts with
+   * no duration are left out.
+   *
+   * <p>Both lists must be sorted by start time and must not contain overlapping ranges, so both
+   * are walked once.
+   */
+  public TimeRangeList subtract(TimeRangeList other) {
+    TimeRangeList times = new TimeRangeList(size + 1);
+
+    int j = 0;
+    for (int i = 0; i < size; i++) {
+      int start = bounds[i * 2];
+      int end = bounds[i * 2 + 1];
+
+      // Ranges of the other list that end before this range cannot reach any later range either.
+      while (j < other.size && other.bounds[j * 2 + 1] <= start) {
+        j++;
+      }
+
+      for (int k = j; k < other.size && other.bounds[k * 2] < end && start < end; k++) {
+        if (other.bounds[k * 2] > start) {
+          times.add(start, other.bounds[k * 2]);
+        }
+        start = Math.max(start, other.bounds[k * 2 + 1]);
+      }
+
+      if (start < end) {
+        times.add(start, end);
+      }
+    }
+
+    return times;
+  }
+
+  /**
+   * Returns the ranges covered by this list or {@code other}. Ranges that overlap or touch are
+   * merged, so the result is sorted by start time and has no overlapping ranges. Both lists must be
+   * sorted by start time.
+   */
+  public TimeRangeList union(TimeRangeList other) {
+    TimeRangeList times = new TimeRangeList(size + other.size);
+
+    int i = 0;
+    int j = 0;
+    while (i < size || j < other.size) {
+      int start;
+      int end;
+      if (j == other.size || (i < size && bounds[i * 2] <= other.bounds[j * 2])) {
+        start = bounds[i * 2];
+        end = bounds[i * 2 + 1];
+        i++;
+      } else {
+        start = other.bounds[j * 2];
+        end = other.bounds[j * 2 + 1];
+        j++;
+      }
+
+      int last = times.size * 2 - 1;
+      if (times.size > 0 && start <= times.bounds[last]) {
+        times.bounds[last] = Math.max(times.bounds[last], end);
+      } else {
+        times.add(start, end);
+      }
+    }
+
+    return times;
+  }
+
+  /**
+   * Returns the union of all of {@code lists}, each of which must be sorted by start time, with
+   * overlapping and touching ranges merged. The lists are merged in pairs as a balanced tree, so
+   * each range is copied once per level rather than once per list. Large trees are merged in
+   * parallel, with each half of a subtree merged by a different fork/join task.
+   */
+  public static TimeRangeList unionAll(List<TimeRangeList> lists) {
+    if (lists.size() < PARALLEL_THRESHOLD) {
+      return unionAll(lists, 0, lists.size());
+    }
+    return new UnionTask(lists, 0, lists.size()).invoke();
+  }
+
+  private static TimeRangeList unionAll(List<TimeRangeList> lists, int from, int to) {
+    if (to - from == 0) {
+      return new TimeRangeList();
+    }
+    if (to - from == 1) {
+      // Copy the list so that the caller never shares it with the result.
+      return lists.get(from).union(new TimeRangeList());
+    }
+
+    int middle = (from + to) >>> 1;
+    return unionAll(lists, from, middle).union(unionAll(lists, middle, to));
+  }
+
+  /**
+   * Returns the ranges in this list as {@code TimeRange} objects, in the same order.
+   */
+  public List<TimeRange> toTimeRanges() {
+    List<TimeRange> ranges = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      ranges.add(TimeRange.fromStartEnd(bounds[i * 2], bounds[i * 2 + 1], false));
+    }
+    return ranges;
+  }
+
+  @Override
+  public String toString() {
+    return toTimeRanges().toString();
+  }
+
+  private int checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    return index;
+  }
+
+  private static boolean rangeOverlaps(int aStart, int aEnd, int bStart, int bEnd) {
+    // For two ranges to overlap, one range must contain the start of another range.
+    return rangeContains(aStart, aEnd, bStart) || rangeContains(bStart, bEnd, aStart);
+  }
+
+  private static boolean rangeContains(int aStart, int aEnd, int bStart, int bEnd) {
+    // If this range has no duration, it cannot contain anything.
+    if (aEnd - aStart <= 0) {
+      return false;
+    }
+
+    // If the other range has no duration, then we must treat it like a point in time rather than a
+    // range.
+    if (bEnd - bStart <= 0) {
+      return rangeContains(aStart, aEnd, bStart);
+    }
+
+    return rangeContains(aStart, aEnd, bStart) && rangeContains(aStart, aEnd, bEnd - 1);
+  }
+
+  private static boolean rangeContains(int start, int end, int point) {
+    // If a range has no duration, it cannot contain anything.
+    return end - start > 0 && point >= start && point < end;
+  }
+
+  /**
+   * Merges the lists from {@code from} to {@code to}, forking the left half and merging the right
+   * half in the current thread until there are too few lists to be worth splitting.
+   */
+  private static final class UnionTask extends RecursiveTask<TimeRangeList> {
+    private final List<TimeRangeList> lists;
+    private final int from;
+    private final int to;
+
+    UnionTask(List<TimeRangeList> lists, int from, int to) {
+      this.lists = lists;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected TimeRangeList compute() {
+      if (to - from < PARALLEL_THRESHOLD) {
+        return unionAll(lists, from, to);
+      }
+
+      int middle = (from + to) >>> 1;
+      UnionTask left = new UnionTask(lists, from, middle);
+      left.fork();
+      TimeRangeList right = new UnionTask(lists, middle, to).compute();
+      return left.join().union(right);
+    }
+  }
+}
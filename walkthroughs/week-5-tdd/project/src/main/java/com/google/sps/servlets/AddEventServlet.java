@@ -0,0 +1,62 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.sps.Event;
+import com.google.sps.Events;
+import com.google.sps.TimeRange;
+import java.io.IOException;
+import java.util.List;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Adds an event to the calendar. The request body is a JSON event with a {@code title}, a
+ * {@code when} and a list of {@code attendees}. Queries that are already running keep the version
+ * of the calendar they started with, and later queries see the new event.
+ */
+@WebServlet("/add-event")
+public class AddEventServlet extends HttpServlet {
+
+  // The JSON form of an event, which Gson fills in without checking that every field is there.
+  private static final class EventJson {
+    String title;
+    TimeRange when;
+    List<String> attendees;
+  }
+
+  @Override
+  public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    EventJson json = JsonResponses.gson.fromJson(request.getReader(), EventJson.class);
+    if (json == null || json.title == null || json.when == null || json.attendees == null) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST,
+          "an event needs a title, a time and attendees");
+      return;
+    }
+
+    Event event;
+    try {
+      event = new Event(json.title, json.when, json.attendees);
+    } catch (IllegalArgumentException e) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+      return;
+    }
+
+    Events.addEvent(event);
+    response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+  }
+}
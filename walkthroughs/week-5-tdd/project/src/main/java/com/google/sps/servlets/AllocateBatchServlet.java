@@ -0,0 +1,67 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.sps.EventIndex;
+import com.google.sps.Events;
+import com.google.sps.MeetingAllocator;
+import com.google.sps.MeetingRequest;
+import com.google.sps.TimeRange;
+import com.google.gson.reflect.TypeToken;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Books a time for every meeting in a batch without booking anyone twice. The request body is a
+ * JSON array of meeting requests, and the response is a JSON array holding the time booked for
+ * each request in the same order, or null for requests that could not be booked. Optional
+ * attendees who are free for a booked meeting are booked for it too.
+ */
+@WebServlet("/allocate-batch")
+public class AllocateBatchServlet extends HttpServlet {
+  private static final Type TIMES_TYPE = new TypeToken<List<TimeRange>>() {}.getType();
+
+  // Meetings start on the quarter hour, and the search gives up on undoing bookings after half a
+  // second.
+  private static final MeetingAllocator allocator =
+      new MeetingAllocator(15, Duration.ofMillis(500));
+
+  @Override
+  public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    // Convert the JSON to a list of MeetingRequest instances. Gson gives null for an empty body.
+    MeetingRequest[] json =
+        JsonResponses.gson.fromJson(request.getReader(), MeetingRequest[].class);
+    if (json == null || Arrays.asList(json).contains(null)) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST,
+          "the body must be a JSON array of meeting requests");
+      return;
+    }
+    List<MeetingRequest> meetingRequests = Arrays.asList(json);
+
+    // Book a time for every request that fits, around the current version of the calendar.
+    EventIndex index = Events.calendar.snapshot().getIndex();
+    List<TimeRange> times = allocator.allocate(index, meetingRequests);
+
+    // Stream the times as JSON straight into the response
+    JsonResponses.write(response, times, TIMES_TYPE);
+  }
+}
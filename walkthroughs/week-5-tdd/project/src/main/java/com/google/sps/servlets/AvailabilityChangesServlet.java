@@ -0,0 +1,173 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.sps.AvailabilityDiff;
+import com.google.sps.CalendarSnapshot;
+import com.google.sps.Events;
+import com.google.sps.SnapshotCalendar;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Long-polls for changes to the availability of some attendees, so that clients do not have to
+ * query again to find out whether anything changed. Each {@code attendee} parameter names one
+ * attendee to watch, and the {@code version} parameter is the calendar version from the previous
+ * response. The response is an {@code AvailabilityDiff} from that version, sent as soon as the
+ * availability of one of the attendees changes, or after {@link #TIMEOUT_MILLIS} with whatever
+ * changed by then, which is usually nothing. Without a version, or with one that is no longer
+ * kept, a reset is sent straight away. Waiting requests do not hold a thread.
+ */
+@WebServlet(urlPatterns = "/availability-changes", asyncSupported = true)
+public class AvailabilityChangesServlet extends HttpServlet {
+  // How long a request waits for a change before the client has to ask again.
+  static final long TIMEOUT_MILLIS = 30_000;
+
+  @Override
+  public void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    Set<String> attendees = new LinkedHashSet<>();
+    String[] attendeeParameters = request.getParameterValues("attendee");
+    if (attendeeParameters != null) {
+      attendees.addAll(Arrays.asList(attendeeParameters));
+    }
+
+    SnapshotCalendar calendar = Events.calendar;
+    CalendarSnapshot base = null;
+    String versionParameter = request.getParameter("version");
+    if (versionParameter != null) {
+      try {
+        base = calendar.snapshot(Long.parseLong(versionParameter));
+      } catch (NumberFormatException e) {
+        response.sendError(HttpServletResponse.SC_BAD_REQUEST, "version must be a whole number");
+        return;
+      }
+    }
+
+    AvailabilityDiff diff = AvailabilityDiff.between(base, calendar.snapshot(), attendees);
+    if (base == null || !diff.isEmpty()) {
+      JsonResponses.write(response, diff, AvailabilityDiff.class);
+      return;
+    }
+
+    AsyncContext context = request.startAsync();
+    context.setTimeout(TIMEOUT_MILLIS);
+    Waiter waiter = new Waiter(context, base, attendees);
+    context.addListener(waiter);
+    calendar.addListener(waiter);
+
+    // The calendar may have changed before the waiter was listening.
+    waiter.accept(calendar.snapshot());
+  }
+
+  /**
+   * A request waiting for the availability of its attendees to change. The first of a change or
+   * the timeout answers it.
+   */
+  private static final class Waiter implements Consumer<CalendarSnapshot>, AsyncListener {
+    private final AsyncContext context;
+    private final CalendarSnapshot base;
+    private final Set<String> attendees;
+    private final AtomicBoolean answered = new AtomicBoolean();
+
+    Waiter(AsyncContext context, CalendarSnapshot base, Set<String> attendees) {
+      this.context = context;
+      this.base = base;
+      this.attendees = attendees;
+    }
+
+    /**
+     * Called on the thread that changed the calendar, which only checks whether the change touched
+     * one of the attendees. Comparing their busy times and writing the response are left to a
+     * container thread, so that a slow client never holds up a writer.
+     */
+    @Override
+    public void accept(CalendarSnapshot snapshot) {
+      if (answered.get() || !touchesAttendees(snapshot)) {
+        return;
+      }
+
+      try {
+        context.start(() -> answerIfChanged(snapshot));
+      } catch (IllegalStateException e) {
+        // The request timed out or failed meanwhile, and was answered then.
+      }
+    }
+
+    private boolean touchesAttendees(CalendarSnapshot snapshot) {
+      for (String attendee : attendees) {
+        if (!base.getIndex().hasSameEvents(snapshot.getIndex(), attendee)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    // A change can touch an attendee's events without changing when they are busy, in which case
+    // the request keeps waiting.
+    private void answerIfChanged(CalendarSnapshot snapshot) {
+      AvailabilityDiff diff = AvailabilityDiff.between(base, snapshot, attendees);
+      if (!diff.isEmpty()) {
+        answer(diff);
+      }
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+      answer(AvailabilityDiff.between(base, Events.calendar.snapshot(), attendees));
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+      if (answered.compareAndSet(false, true)) {
+        Events.calendar.removeListener(this);
+      }
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+      Events.calendar.removeListener(this);
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {}
+
+    private void answer(AvailabilityDiff diff) {
+      if (!answered.compareAndSet(false, true)) {
+        return;
+      }
+
+      Events.calendar.removeListener(this);
+      try {
+        JsonResponses.write((HttpServletResponse) context.getResponse(), diff,
+            AvailabilityDiff.class);
+      } catch (IOException e) {
+        // The client went away, so there is no one left to answer.
+      } finally {
+        context.complete();
+      }
+    }
+  }
+}
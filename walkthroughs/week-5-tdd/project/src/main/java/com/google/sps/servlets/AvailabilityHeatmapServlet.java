@@ -0,0 +1,53 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.sps.AvailabilityHeatmap;
+import com.google.sps.EventIndex;
+import com.google.sps.Events;
+import com.google.sps.FindMeetingQuery;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Returns how many of a group of attendees are free at each minute of the day, run-length
+ * encoded. Each {@code attendee} parameter names one person in the group. The response carries an
+ * ETag, so a UI that asks again for the same group only gets the heatmap back when it changed.
+ */
+@WebServlet("/availability-heatmap")
+public class AvailabilityHeatmapServlet extends HttpServlet {
+
+  @Override
+  public void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    // Each attendee is counted once, even if they are named twice.
+    Set<String> attendees = new LinkedHashSet<>();
+    String[] attendeeParameters = request.getParameterValues("attendee");
+    if (attendeeParameters != null) {
+      attendees.addAll(Arrays.asList(attendeeParameters));
+    }
+
+    EventIndex index = Events.calendar.snapshot().getIndex();
+    AvailabilityHeatmap heatmap = new FindMeetingQuery().queryHeatmap(index, attendees);
+
+    // Send the JSON back as the response
+    JsonResponses.write(request, response, JsonBody.of(heatmap));
+  }
+}
@@ -0,0 +1,67 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.sps.Event;
+import com.google.sps.EventIndex;
+import com.google.sps.Events;
+import com.google.sps.TimeRange;
+import com.google.gson.reflect.TypeToken;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Returns the events that conflict with a proposed meeting time, so that the UI can check a move
+ * before making it. The {@code start} and {@code duration} parameters give the proposed time in
+ * minutes, and each {@code attendee} parameter names one person who would attend.
+ */
+@WebServlet("/conflicts")
+public class ConflictsServlet extends HttpServlet {
+  private static final Type EVENTS_TYPE = new TypeToken<List<Event>>() {}.getType();
+
+  @Override
+  public void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    int start;
+    int duration;
+    try {
+      start = Integer.parseInt(request.getParameter("start"));
+      duration = Integer.parseInt(request.getParameter("duration"));
+    } catch (NumberFormatException e) {
+      duration = -1;
+      start = -1;
+    }
+    if (start < 0 || duration < 0) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST,
+          "start and duration must be whole numbers");
+      return;
+    }
+
+    String[] attendees = request.getParameterValues("attendee");
+    EventIndex index = Events.calendar.snapshot().getIndex();
+    List<Event> conflicts = attendees == null
+        ? Arrays.<Event>asList()
+        : index.findConflicts(Arrays.asList(attendees),
+            TimeRange.fromStartDuration(start, duration));
+
+    // Stream the conflicting events as JSON straight into the response
+    JsonResponses.write(response, conflicts, EVENTS_TYPE);
+  }
+}
@@ -14,9 +14,11 @@
 
 package com.google.sps.servlets;
 
+import com.google.sps.Event;
+import com.google.sps.EventRepository;
 import com.google.sps.Events;
-import com.google.gson.Gson;
 import java.io.IOException;
+import java.util.List;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
@@ -24,13 +26,24 @@ import javax.servlet.http.HttpServletResponse;
 
 @WebServlet("/get-events")
 public class GetEventsServlet extends HttpServlet {
+  // The events converted to JSON, and how many events there were at the time. Events can only be
+  // added, so the JSON is current as long as the number of events has not changed.
+  private static JsonBody eventsJson;
+  private static int eventsJsonSize = -1;
+
   @Override
   public void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
-    Gson gson = new Gson();
-    String jsonResponse = gson.toJson(Events.events);
-
     // Send the JSON back as the response
-    response.setContentType("application/json");
-    response.getWriter().println(jsonResponse);
+    JsonResponses.write(request, response, getEventsJson());
+  }
+
+  private static synchronized JsonBody getEventsJson() {
+    EventRepository repository = Events.repository;
+    if (repository.size() != eventsJsonSize) {
+      List<Event> events = repository.getEvents();
+      eventsJson = JsonBody.of(events);
+      eventsJsonSize = events.size();
+    }
+    return eventsJson;
   }
 }
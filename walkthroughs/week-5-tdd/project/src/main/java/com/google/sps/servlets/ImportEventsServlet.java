@@ -0,0 +1,63 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.sps.EventImporter;
+import com.google.sps.Events;
+import com.google.sps.ImportSummary;
+import java.io.IOException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Imports events in bulk from the request body. The {@code format} parameter is {@code ics},
+ * {@code csv} or {@code jsonl}. The body is read as it arrives, without being held in memory, and
+ * each event is stored and indexed as soon as it has been read. The events themselves are held
+ * until the end of the import, in the index and in the set that finds duplicates within the
+ * body. Once the whole body has been read, the imported events are merged into the calendar as
+ * one new version, so queries see either none or all of them. Events that are already in the
+ * calendar are skipped. The response is the JSON {@code ImportSummary}.
+ */
+@WebServlet("/import-events")
+public class ImportEventsServlet extends HttpServlet {
+  @Override
+  public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    EventImporter.Format format = parseFormat(request.getParameter("format"));
+    if (format == null) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, "format must be ics, csv or jsonl");
+      return;
+    }
+
+    ImportSummary summary = Events.importEvents(new EventImporter(format), request.getReader());
+
+    // Stream the summary as JSON straight into the response
+    JsonResponses.write(response, summary, ImportSummary.class);
+  }
+
+  private static EventImporter.Format parseFormat(String format) {
+    if ("ics".equals(format)) {
+      return EventImporter.Format.ICALENDAR;
+    }
+    if ("csv".equals(format)) {
+      return EventImporter.Format.CSV;
+    }
+    if ("jsonl".equals(format)) {
+      return EventImporter.Format.JSON_LINES;
+    }
+    return null;
+  }
+}
@@ -0,0 +1,103 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * A JSON response body that is serialized once, for values that never change. Sending it again is
+ * a copy of its bytes. The body has a strong ETag derived from its contents so that clients can
+ * revalidate their cached copy without downloading it again.
+ */
+final class JsonBody {
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  // The ETag only needs to tell different bodies apart, so a prefix of the digest is enough.
+  private static final int ETAG_BYTES = 16;
+
+  private final byte[] bytes;
+  private final String etag;
+
+  private JsonBody(byte[] bytes) {
+    this.bytes = bytes;
+    this.etag = computeETag(bytes);
+  }
+
+  /**
+   * Serializes {@code value} to JSON.
+   */
+  static JsonBody of(Object value) {
+    return new JsonBody(JsonResponses.gson.toJson(value).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Returns the ETag of the body, including the surrounding quotes.
+   */
+  String getETag() {
+    return etag;
+  }
+
+  /**
+   * Returns the length of the body in bytes.
+   */
+  int length() {
+    return bytes.length;
+  }
+
+  void writeTo(OutputStream out) throws IOException {
+    out.write(bytes);
+  }
+
+  /**
+   * Checks if the value of an If-None-Match header names this body. The header can be null, "*", or
+   * a comma separated list of strong or weak ETags.
+   */
+  boolean matches(String ifNoneMatch) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+
+    for (String tag : ifNoneMatch.split(",")) {
+      tag = tag.trim();
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (tag.equals("*") || tag.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String computeETag(byte[] bytes) {
+    byte[] digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+    } catch (NoSuchAlgorithmException e) {
+      // Every Java platform is required to support SHA-256.
+      throw new IllegalStateException(e);
+    }
+
+    StringBuilder builder = new StringBuilder(ETAG_BYTES * 2 + 2).append('"');
+    for (int i = 0; i < ETAG_BYTES; i++) {
+      builder.append(HEX_DIGITS[(digest[i] >> 4) & 0xF]).append(HEX_DIGITS[digest[i] & 0xF]);
+    }
+    return builder.append('"').toString();
+  }
+}
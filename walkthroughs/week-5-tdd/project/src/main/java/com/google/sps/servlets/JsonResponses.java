@@ -0,0 +1,69 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Writes JSON responses. Values are serialized straight into the response stream instead of being
+ * built up as a string first, so the memory used does not grow with the size of the response.
+ */
+final class JsonResponses {
+  // Gson instances are thread-safe, so all servlets share one.
+  static final Gson gson = new Gson();
+
+  private JsonResponses() {
+    // Disallow instances.
+  }
+
+  /**
+   * Serializes {@code value}, whose declared type is {@code type}, as the JSON response body.
+   */
+  static void write(HttpServletResponse response, Object value, Type type) throws IOException {
+    response.setContentType("application/json");
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+    JsonWriter writer = new JsonWriter(new BufferedWriter(
+        new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8)));
+    gson.toJson(value, type, writer);
+    writer.flush();
+  }
+
+  /**
+   * Sends {@code body} as the JSON response, or only a "304 Not Modified" status if the client
+   * already has the same body cached.
+   */
+  static void write(HttpServletRequest request, HttpServletResponse response, JsonBody body)
+      throws IOException {
+    response.setHeader("ETag", body.getETag());
+    if (body.matches(request.getHeader("If-None-Match"))) {
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return;
+    }
+
+    response.setContentType("application/json");
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    response.setContentLength(body.length());
+    body.writeTo(response.getOutputStream());
+  }
+}
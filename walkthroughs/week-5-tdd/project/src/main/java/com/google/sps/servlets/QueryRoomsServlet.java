@@ -0,0 +1,55 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.sps.EventIndex;
+import com.google.sps.Events;
+import com.google.sps.FindMeetingQuery;
+import com.google.sps.MeetingRequest;
+import com.google.sps.RoomSlot;
+import com.google.gson.reflect.TypeToken;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Finds the times when a meeting can be held together with a room for it. The request body is a
+ * meeting request, which may set the {@code room_capacity} and {@code room_equipment} it needs.
+ * Like {@code /query}, it reads a snapshot of the calendar, so it never waits for writers.
+ */
+@WebServlet("/query-rooms")
+public class QueryRoomsServlet extends HttpServlet {
+  private static final Type SLOTS_TYPE = new TypeToken<List<RoomSlot>>() {}.getType();
+
+  @Override
+  public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    // Convert the JSON to an instance of MeetingRequest.
+    MeetingRequest meetingRequest =
+        JsonResponses.gson.fromJson(request.getReader(), MeetingRequest.class);
+
+    // Find the meeting times and the rooms that are free for them, in the current version of the
+    // calendar.
+    EventIndex index = Events.calendar.snapshot().getIndex();
+    List<RoomSlot> slots =
+        new FindMeetingQuery().queryWithRooms(index, Events.rooms, meetingRequest);
+
+    // Stream the slots as JSON straight into the response
+    JsonResponses.write(response, slots, SLOTS_TYPE);
+  }
+}
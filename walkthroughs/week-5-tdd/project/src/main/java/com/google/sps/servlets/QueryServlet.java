@@ -14,13 +14,15 @@
 
 package com.google.sps.servlets;
 
+import com.google.sps.CalendarSnapshot;
 import com.google.sps.Events;
 import com.google.sps.FindMeetingQuery;
 import com.google.sps.MeetingRequest;
+import com.google.sps.QueryCache;
 import com.google.sps.TimeRange;
-import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
 import java.io.IOException;
-import java.util.Arrays;
+import java.lang.reflect.Type;
 import java.util.Collection;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
@@ -29,23 +31,34 @@ import javax.servlet.http.HttpServletResponse;
 
 @WebServlet("/query")
 public class QueryServlet extends HttpServlet {
+  private static final Type TIMES_TYPE = new TypeToken<Collection<TimeRange>>() {}.getType();
+
+  // The front end asks again while the form is being edited, so many requests are repeats.
+  static final QueryCache cache = new QueryCache(1024);
+
   @Override
   public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
-    Gson gson = new Gson();
-
     // Convert the JSON to an instance of MeetingRequest.
-    MeetingRequest meetingRequest = gson.fromJson(request.getReader(), MeetingRequest.class);
+    MeetingRequest meetingRequest =
+        JsonResponses.gson.fromJson(request.getReader(), MeetingRequest.class);
 
-    // Find the possible meeting times.
+    // Find the possible meeting times. With ?maximize-optional=true, keep the times that work for
+    // the most optional attendees instead of dropping all of them when no time works for everyone.
+    // Both kinds of answers are found in one snapshot of the calendar, which events can be added
+    // to meanwhile, and are cached against the version of that snapshot.
     FindMeetingQuery findMeetingQuery = new FindMeetingQuery();
-    Collection<TimeRange> answer =
-        findMeetingQuery.query(Arrays.asList(Events.events), meetingRequest);
-
-    // Convert the times to JSON
-    String jsonResponse = gson.toJson(answer);
+    CalendarSnapshot snapshot = Events.calendar.snapshot();
+    Collection<TimeRange> answer;
+    if (Boolean.parseBoolean(request.getParameter("maximize-optional"))) {
+      answer = cache.get(meetingRequest, "maximize-optional", snapshot.getVersion(),
+          () -> findMeetingQuery.queryMaximizingOptionalAttendees(snapshot.getIndex(),
+              meetingRequest));
+    } else {
+      answer = cache.get(meetingRequest, "query", snapshot.getVersion(),
+          () -> findMeetingQuery.query(snapshot.getIndex(), meetingRequest));
+    }
 
-    // Send the JSON back as the response
-    response.setContentType("application/json");
-    response.getWriter().println(jsonResponse);
+    // Stream the times as JSON straight into the response
+    JsonResponses.write(response, answer, TIMES_TYPE);
   }
 }
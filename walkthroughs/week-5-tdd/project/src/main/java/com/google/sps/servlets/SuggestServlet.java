@@ -0,0 +1,71 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.sps.EventIndex;
+import com.google.sps.Events;
+import com.google.sps.FindMeetingQuery;
+import com.google.sps.MeetingRequest;
+import com.google.sps.RankedSlot;
+import com.google.sps.SlotPreferences;
+import com.google.gson.reflect.TypeToken;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Suggests the best few times for a meeting instead of every possible time. The request body is a
+ * meeting request, and the optional {@code limit} parameter sets how many suggestions to return.
+ */
+@WebServlet("/suggest")
+public class SuggestServlet extends HttpServlet {
+  private static final Type SLOTS_TYPE = new TypeToken<List<RankedSlot>>() {}.getType();
+
+  // The UI shows five suggestions.
+  private static final int DEFAULT_LIMIT = 5;
+
+  @Override
+  public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    int limit = DEFAULT_LIMIT;
+    String limitParameter = request.getParameter("limit");
+    if (limitParameter != null) {
+      try {
+        limit = Integer.parseInt(limitParameter);
+      } catch (NumberFormatException e) {
+        limit = -1;
+      }
+    }
+    if (limit < 0) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, "limit must be a whole number");
+      return;
+    }
+
+    // Convert the JSON to an instance of MeetingRequest.
+    MeetingRequest meetingRequest =
+        JsonResponses.gson.fromJson(request.getReader(), MeetingRequest.class);
+
+    // Rank the possible meeting times and keep the best ones.
+    EventIndex index = Events.calendar.snapshot().getIndex();
+    List<RankedSlot> slots = new FindMeetingQuery().queryTopSlots(index, meetingRequest,
+        SlotPreferences.DEFAULT, limit);
+
+    // Stream the slots as JSON straight into the response
+    JsonResponses.write(response, slots, SLOTS_TYPE);
+  }
+}
@@ -0,0 +1,94 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class AttendeeSetTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+  private static final String PERSON_C = "Person C";
+
+  private static final TimeRange WHEN = TimeRange.fromStartDuration(0, 30);
+
+  @Test
+  public void sameNameHasSameId() {
+    int id = AttendeeDictionary.idOf(PERSON_A);
+
+    Assert.assertEquals(id, AttendeeDictionary.idOf(new String(PERSON_A)));
+    Assert.assertEquals(id, AttendeeDictionary.findId(PERSON_A));
+    Assert.assertEquals(PERSON_A, AttendeeDictionary.nameOf(id));
+  }
+
+  @Test
+  public void unknownNameHasNoId() {
+    Assert.assertEquals(-1, AttendeeDictionary.findId("Nobody has this name"));
+  }
+
+  @Test
+  public void duplicatesAreIgnored() {
+    AttendeeDictionary.idOf(PERSON_A);
+    AttendeeDictionary.idOf(PERSON_B);
+    AttendeeSet set = AttendeeSet.of(Arrays.asList(PERSON_A, PERSON_B, PERSON_A));
+
+    Assert.assertEquals(2, set.size());
+    Assert.assertTrue(set.contains(AttendeeDictionary.idOf(PERSON_A)));
+    Assert.assertTrue(set.contains(AttendeeDictionary.idOf(PERSON_B)));
+    Assert.assertFalse(set.contains(AttendeeDictionary.idOf(PERSON_C)));
+  }
+
+  @Test
+  public void unknownNamesAreLeftOutWithoutGettingIds() {
+    String unknown = "Nobody in a set has this name";
+    AttendeeDictionary.idOf(PERSON_A);
+    AttendeeSet set = AttendeeSet.of(Arrays.asList(PERSON_A, unknown));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(unknown), 30);
+
+    Assert.assertEquals(1, set.size());
+    Assert.assertTrue(request.getAttendeeSet().isEmpty());
+    Assert.assertEquals(-1, AttendeeDictionary.findId(unknown));
+  }
+
+  @Test
+  public void containsAnyAttendee() {
+    // Names get their IDs from events, which the set is created after.
+    AttendeeDictionary.idOf(PERSON_A);
+    AttendeeSet set = AttendeeSet.of(Arrays.asList(PERSON_A));
+
+    Assert.assertTrue(set.containsAnyAttendee(
+        new Event("Event 1", WHEN, Arrays.asList(PERSON_B, PERSON_A))));
+    Assert.assertFalse(set.containsAnyAttendee(
+        new Event("Event 2", WHEN, Arrays.asList(PERSON_B, PERSON_C))));
+    Assert.assertFalse(AttendeeSet.of(Collections.emptyList()).containsAnyAttendee(
+        new Event("Event 3", WHEN, Arrays.asList(PERSON_A))));
+  }
+
+  @Test
+  public void eventAttendeesAreASet() {
+    Event event = new Event("Event 1", WHEN, Arrays.asList(PERSON_B, PERSON_A, PERSON_B));
+
+    Assert.assertEquals(2, event.getAttendees().size());
+    Assert.assertTrue(event.getAttendees().contains(PERSON_A));
+    Assert.assertFalse(event.getAttendees().contains(PERSON_C));
+    Assert.assertEquals(event, new Event("Event 1", WHEN, Arrays.asList(PERSON_A, PERSON_B)));
+  }
+}
@@ -0,0 +1,100 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class AvailabilityDiffTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+  private static final int TIME_1100AM = TimeRange.getTimeInMinutes(11, 0);
+
+  private static final Event EVENT_1 = new Event("Event 1",
+      TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false), Arrays.asList(PERSON_A));
+  private static final Event EVENT_2 = new Event("Event 2",
+      TimeRange.fromStartEnd(TIME_0900AM, TIME_1100AM, false), Arrays.asList(PERSON_A));
+
+  @Test
+  public void resetListsAllBusyTimes() {
+    SnapshotCalendar calendar = new SnapshotCalendar(Arrays.asList(EVENT_1));
+
+    AvailabilityDiff diff =
+        AvailabilityDiff.between(null, calendar.snapshot(), Arrays.asList(PERSON_A, PERSON_B));
+
+    Assert.assertTrue(diff.isReset());
+    Assert.assertEquals(Arrays.asList(EVENT_1.getWhen()),
+        diff.getChanges().get(PERSON_A).getBusy());
+    Assert.assertFalse(diff.getChanges().containsKey(PERSON_B));
+  }
+
+  @Test
+  public void onlyChangedTimesAreListed() {
+    SnapshotCalendar calendar = new SnapshotCalendar(Arrays.asList(EVENT_1));
+    CalendarSnapshot before = calendar.snapshot();
+
+    calendar.addEvent(EVENT_2);
+    calendar.removeEvent(EVENT_1);
+    AvailabilityDiff diff =
+        AvailabilityDiff.between(before, calendar.snapshot(), Arrays.asList(PERSON_A, PERSON_B));
+
+    Assert.assertFalse(diff.isReset());
+    Assert.assertEquals(before.getVersion() + 2, diff.getVersion());
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartEnd(TIME_1000AM, TIME_1100AM, false)),
+        diff.getChanges().get(PERSON_A).getBusy());
+    Assert.assertEquals(Arrays.asList(), diff.getChanges().get(PERSON_A).getFree());
+
+    // Removing Event 2 again frees the whole time, since Event 1 is gone.
+    CalendarSnapshot middle = calendar.snapshot();
+    calendar.removeEvent(EVENT_2);
+    diff = AvailabilityDiff.between(middle, calendar.snapshot(), Arrays.asList(PERSON_A));
+
+    Assert.assertEquals(Arrays.asList(EVENT_2.getWhen()),
+        diff.getChanges().get(PERSON_A).getFree());
+  }
+
+  @Test
+  public void untouchedAttendeesAreNotCompared() {
+    SnapshotCalendar calendar = new SnapshotCalendar(Arrays.asList(EVENT_1));
+    CalendarSnapshot before = calendar.snapshot();
+
+    calendar.addEvent(new Event("Event 3", TimeRange.fromStartEnd(TIME_1000AM, TIME_1100AM, false),
+        Arrays.asList(PERSON_B)));
+
+    Assert.assertTrue(before.getIndex().hasSameEvents(calendar.snapshot().getIndex(), PERSON_A));
+    Assert.assertTrue(
+        AvailabilityDiff.between(before, calendar.snapshot(), Arrays.asList(PERSON_A)).isEmpty());
+  }
+
+  @Test
+  public void listenersSeeEveryVersion() {
+    SnapshotCalendar calendar = new SnapshotCalendar();
+    long[] lastVersion = {-1};
+    calendar.addListener(snapshot -> lastVersion[0] = snapshot.getVersion());
+
+    calendar.addEvent(EVENT_1);
+
+    Assert.assertEquals(calendar.snapshot().getVersion(), lastVersion[0]);
+    Assert.assertSame(calendar.snapshot(), calendar.snapshot(lastVersion[0]));
+  }
+}
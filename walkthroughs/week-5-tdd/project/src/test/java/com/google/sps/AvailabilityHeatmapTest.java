@@ -0,0 +1,99 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class AvailabilityHeatmapTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+  private static final String PERSON_C = "Person C";
+
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+  private static final int TIME_1100AM = TimeRange.getTimeInMinutes(11, 0);
+
+  @Test
+  public void overlappingEventsCountOnce() {
+    // Person A has two overlapping events from 9 to 11, and Person B is busy from 10 to 11.
+    EventIndex index = new EventIndex(Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TIME_0900AM, TIME_1100AM, false),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_1000AM, TIME_1100AM, false),
+            Arrays.asList(PERSON_A, PERSON_B))));
+
+    AvailabilityHeatmap actual =
+        new FindMeetingQuery().queryHeatmap(index, Arrays.asList(PERSON_A, PERSON_B, PERSON_C));
+
+    Assert.assertEquals(4, actual.getRunCount());
+    Assert.assertEquals(3, actual.getFreeCount(TIME_0900AM - 1));
+    Assert.assertEquals(2, actual.getFreeCount(TIME_0900AM));
+    Assert.assertEquals(1, actual.getFreeCount(TIME_1000AM));
+    Assert.assertEquals(3, actual.getFreeCount(TIME_1100AM));
+    Assert.assertEquals(3, actual.getFreeCount(TimeRange.END_OF_DAY));
+  }
+
+  @Test
+  public void noAttendees() {
+    AvailabilityHeatmap actual =
+        new FindMeetingQuery().queryHeatmap(new EventIndex(Arrays.<Event>asList()),
+            Arrays.<String>asList());
+
+    Assert.assertEquals(1, actual.getRunCount());
+    Assert.assertEquals(0, actual.getFreeCount(TimeRange.START_OF_DAY));
+  }
+
+  @Test
+  public void matchesCountingEachMinute() {
+    Random random = new Random(42);
+    List<String> people = Arrays.asList(PERSON_A, PERSON_B, PERSON_C, "Person D");
+    int day = TimeRange.WHOLE_DAY.duration();
+
+    for (int round = 0; round < 100; round++) {
+      List<Event> events = new ArrayList<>();
+      int eventCount = random.nextInt(12);
+      for (int i = 0; i < eventCount; i++) {
+        int start = random.nextInt(day);
+        int duration = random.nextInt(day - start + 1);
+        events.add(new Event("Event " + i, TimeRange.fromStartDuration(start, duration),
+            Arrays.asList(people.get(random.nextInt(people.size())))));
+      }
+
+      AvailabilityHeatmap actual = new FindMeetingQuery().queryHeatmap(new EventIndex(events),
+          people);
+
+      for (int minute = 0; minute < day; minute++) {
+        int free = 0;
+        for (String person : people) {
+          boolean busy = false;
+          for (Event event : events) {
+            busy |= event.getAttendees().contains(person) && event.getWhen().contains(minute);
+          }
+          free += busy ? 0 : 1;
+        }
+        Assert.assertEquals(free, actual.getFreeCount(minute));
+      }
+    }
+  }
+}
@@ -0,0 +1,105 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class BitsetMeetingQueryTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final int DURATION_1_MINUTE = 1;
+  private static final int DURATION_30_MINUTES = 30;
+
+  @Test
+  public void eventsOnWordBoundaries() {
+    // Minutes 64 and 128 are the first bits of the second and third words of the mask.
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(63, 64, false), Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartEnd(128, 192, false), Arrays.asList(PERSON_A)));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_1_MINUTE);
+
+    Collection<TimeRange> actual = new BitsetMeetingQuery().query(events, request);
+    Collection<TimeRange> expected = Arrays.asList(TimeRange.fromStartEnd(0, 63, false),
+        TimeRange.fromStartEnd(64, 128, false),
+        TimeRange.fromStartEnd(192, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void eventWithNoDurationSplitsFreeTime() {
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartDuration(60, 0), Arrays.asList(PERSON_A)));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+
+    Collection<TimeRange> expected = Arrays.asList(TimeRange.fromStartEnd(0, 60, false),
+        TimeRange.fromStartEnd(60, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected, new FindMeetingQuery().query(events, request));
+    Assert.assertEquals(expected, new BitsetMeetingQuery().query(events, request));
+  }
+
+  @Test
+  public void matchesFindMeetingQueryOnRandomCalendars() {
+    Random random = new Random(42);
+    List<String> people = Arrays.asList(PERSON_A, PERSON_B, "Person C", "Person D", "Person E");
+
+    for (int round = 0; round < 500; round++) {
+      Collection<Event> events = new ArrayList<>();
+      int eventCount = random.nextInt(12);
+      for (int i = 0; i < eventCount; i++) {
+        int start = random.nextInt(TimeRange.WHOLE_DAY.duration() - 1);
+        int duration = random.nextInt(4) == 0
+            ? 0 : 1 + random.nextInt(TimeRange.WHOLE_DAY.duration() - start - 1);
+        List<String> attendees = new ArrayList<>();
+        for (String person : people) {
+          if (random.nextInt(3) == 0) {
+            attendees.add(person);
+          }
+        }
+        events.add(
+            new Event("Event " + i, TimeRange.fromStartDuration(start, duration), attendees));
+      }
+
+      List<String> mandatory = new ArrayList<>();
+      for (String person : people) {
+        if (random.nextInt(3) == 0) {
+          mandatory.add(person);
+        }
+      }
+      int meetingDuration = DURATION_1_MINUTE + random.nextInt(DURATION_30_MINUTES * 4);
+      MeetingRequest request = new MeetingRequest(mandatory, meetingDuration);
+      for (String person : people) {
+        if (random.nextInt(3) == 0) {
+          request.addOptionalAttendee(person);
+        }
+      }
+
+      Assert.assertEquals(new FindMeetingQuery().query(events, request),
+          new BitsetMeetingQuery().query(events, request));
+    }
+  }
+}
@@ -0,0 +1,147 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class EventImporterTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_0930AM = TimeRange.getTimeInMinutes(9, 30);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+
+  private static final Event EVENT_1 = new Event("Sync, weekly",
+      TimeRange.fromStartEnd(TIME_0900AM, TIME_0930AM, false), Arrays.asList(PERSON_A, PERSON_B));
+  private static final Event EVENT_2 = new Event("Review",
+      TimeRange.fromStartEnd(TIME_1000AM, TimeRange.END_OF_DAY, true), Arrays.asList(PERSON_A));
+
+  @Test
+  public void importsCsv() throws IOException {
+    String csv = "title,start,end,attendees\n"
+        + "\"Sync, weekly\",09:00,09:30,Person A;Person B\n"
+        + "Review,10:00,24:00,Person A\n"
+        + "\"Sync, weekly\",09:00,09:30,Person B;Person A\n"
+        + "Broken,10:00,09:00,Person A\n";
+
+    List<Event> events = new ArrayList<>();
+    ImportSummary summary = new EventImporter(EventImporter.Format.CSV)
+        .importEvents(new StringReader(csv), events::add);
+
+    Assert.assertEquals(Arrays.asList(EVENT_1, EVENT_2), events);
+    Assert.assertEquals(4, summary.getRead());
+    Assert.assertEquals(2, summary.getImported());
+    Assert.assertEquals(1, summary.getDuplicates());
+    Assert.assertEquals(1, summary.getRejected());
+  }
+
+  @Test
+  public void importsICalendar() throws IOException {
+    String ics = "BEGIN:VCALENDAR\r\n"
+        + "BEGIN:VEVENT\r\n"
+        + "SUMMARY:Sync\\, weekly\r\n"
+        + "DTSTART;TZID=Europe/Zurich:20200106T090000\r\n"
+        + "DTEND;TZID=Europe/Zurich:20200106T093000\r\n"
+        + "ATTENDEE;CN=\"Person A\";ROLE=REQ-PARTICIPANT:mailto:a@example.com\r\n"
+        + "ATTENDEE;CN=Person\r\n"
+        + "  B:mailto:b@example.com\r\n"
+        + "END:VEVENT\r\n"
+        + "BEGIN:VEVENT\r\n"
+        + "SUMMARY:Review\r\n"
+        + "DTSTART:20200106T100000Z\r\n"
+        + "DTEND:20200107T010000Z\r\n"
+        + "ATTENDEE:mailto:Person A\r\n"
+        + "END:VEVENT\r\n"
+        + "BEGIN:VEVENT\r\n"
+        + "SUMMARY:No start\r\n"
+        + "END:VEVENT\r\n"
+        + "END:VCALENDAR\r\n";
+
+    List<Event> events = new ArrayList<>();
+    ImportSummary summary = new EventImporter(EventImporter.Format.ICALENDAR)
+        .importEvents(new StringReader(ics), events::add);
+
+    Assert.assertEquals(Arrays.asList(EVENT_1, EVENT_2), events);
+    Assert.assertEquals(1, summary.getRejected());
+  }
+
+  @Test
+  public void importsJsonLines() throws IOException {
+    String jsonl = "{\"title\":\"Review\",\"when\":{\"start\":600,\"duration\":840},"
+        + "\"attendees\":[\"Person A\"]}\n"
+        + "\n"
+        + "{\"title\":\"Review\"}\n"
+        + "not json\n";
+
+    List<Event> events = new ArrayList<>();
+    ImportSummary summary = new EventImporter(EventImporter.Format.JSON_LINES)
+        .importEvents(new StringReader(jsonl), events::add);
+
+    Assert.assertEquals(Arrays.asList(EVENT_2), events);
+    Assert.assertEquals(3, summary.getRead());
+    Assert.assertEquals(2, summary.getRejected());
+  }
+
+  @Test
+  public void nullTitlesAndAttendeesAreRejected() throws IOException {
+    String jsonl = "{\"title\":null,\"when\":{\"start\":600,\"duration\":840},"
+        + "\"attendees\":[\"Person A\"]}\n"
+        + "{\"title\":\"Review\",\"when\":{\"start\":600,\"duration\":840},"
+        + "\"attendees\":[null]}\n"
+        + "{\"title\":\"Review\",\"when\":{\"start\":600,\"duration\":840},"
+        + "\"attendees\":[\"Person A\"]}\n";
+
+    List<Event> events = new ArrayList<>();
+    ImportSummary summary = new EventImporter(EventImporter.Format.JSON_LINES)
+        .importEvents(new StringReader(jsonl), events::add);
+
+    Assert.assertEquals(Arrays.asList(EVENT_2), events);
+    Assert.assertEquals(3, summary.getRead());
+    Assert.assertEquals(2, summary.getRejected());
+  }
+
+  @Test
+  public void indexIsBuiltWhileImporting() throws IOException {
+    StringBuilder csv = new StringBuilder("title,start,end,attendees\n");
+    for (int i = 0; i < 1000; i++) {
+      int start = 1439 - i % 1440;
+      csv.append(String.format("Event %d,%02d:%02d,24:00,Person %d\n", i % 10, start / 60,
+          start % 60, i % 7));
+    }
+
+    EventIndex.Builder builder = new EventIndex.Builder();
+    ImportSummary summary = new EventImporter(EventImporter.Format.CSV)
+        .importEvents(new StringReader(csv.toString()), builder::add);
+    EventIndex index = builder.build();
+
+    Assert.assertEquals(1000, summary.getImported());
+    List<Event> events = index.getEvents("Person 0");
+    Assert.assertEquals(143, events.size());
+    for (int i = 1; i < events.size(); i++) {
+      Assert.assertTrue(events.get(i - 1).getWhen().start() <= events.get(i).getWhen().start());
+    }
+  }
+}
@@ -0,0 +1,103 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class EventIndexTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+  private static final String PERSON_C = "Person C";
+
+  private static final int TIME_0800AM = TimeRange.getTimeInMinutes(8, 0);
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+
+  private static final int DURATION_30_MINUTES = 30;
+
+  private static final Event EVENT_1 =
+      new Event("Event 1", TimeRange.fromStartDuration(TIME_1000AM, DURATION_30_MINUTES),
+          Arrays.asList(PERSON_A));
+  private static final Event EVENT_2 =
+      new Event("Event 2", TimeRange.fromStartDuration(TIME_0800AM, DURATION_30_MINUTES),
+          Arrays.asList(PERSON_A, PERSON_B));
+  private static final Event EVENT_3 =
+      new Event("Event 3", TimeRange.fromStartDuration(TIME_0900AM, DURATION_30_MINUTES),
+          Arrays.asList(PERSON_B));
+
+  private static final Collection<Event> EVENTS = Arrays.asList(EVENT_1, EVENT_2, EVENT_3);
+
+  @Test
+  public void eventsAreSortedByStart() {
+    EventIndex index = new EventIndex(EVENTS);
+
+    List<Event> actual = index.getEvents(PERSON_A);
+    List<Event> expected = Arrays.asList(EVENT_2, EVENT_1);
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void unknownAttendeeHasNoEvents() {
+    EventIndex index = new EventIndex(EVENTS);
+
+    Assert.assertEquals(Collections.emptyList(), index.getEvents(PERSON_C));
+    Assert.assertEquals(Collections.emptyList(),
+        index.findEventsByAttendees(Arrays.asList(PERSON_C)));
+  }
+
+  @Test
+  public void sharedEventsAreOnlyFoundOnce() {
+    EventIndex index = new EventIndex(EVENTS);
+
+    List<Event> actual = index.findEventsByAttendees(Arrays.asList(PERSON_A, PERSON_B));
+    List<Event> expected = Arrays.asList(EVENT_2, EVENT_3, EVENT_1);
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void conflictsOnlyIncludeOverlappingEvents() {
+    EventIndex index = new EventIndex(EVENTS);
+
+    // Event 2 ends when the proposed time starts, so it does not conflict.
+    TimeRange proposed = TimeRange.fromStartEnd(TIME_0800AM + DURATION_30_MINUTES, TIME_1000AM + 1,
+        false);
+    List<Event> actual = index.findConflicts(Arrays.asList(PERSON_A, PERSON_B, PERSON_C), proposed);
+    List<Event> expected = Arrays.asList(EVENT_3, EVENT_1);
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void sharedConflictsAreOnlyFoundOnce() {
+    EventIndex index = new EventIndex(EVENTS);
+
+    List<Event> actual = index.findConflicts(Arrays.asList(PERSON_A, PERSON_B),
+        TimeRange.fromStartDuration(TIME_0800AM, DURATION_30_MINUTES));
+    List<Event> expected = Arrays.asList(EVENT_2);
+
+    Assert.assertEquals(expected, actual);
+  }
+}
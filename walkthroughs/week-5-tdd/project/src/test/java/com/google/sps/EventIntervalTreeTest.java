@@ -0,0 +1,133 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class EventIntervalTreeTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final ZoneId UTC = ZoneOffset.UTC;
+  private static final LocalDate JANUARY_1 = LocalDate.of(2020, 1, 1);
+  private static final LocalDate JANUARY_2 = JANUARY_1.plusDays(1);
+
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_1700PM = TimeRange.getTimeInMinutes(17, 0);
+
+  private static final int MINUTES_PER_DAY = TimeRange.WHOLE_DAY.duration();
+  private static final int DURATION_1_HOUR = 60;
+
+  @Test
+  public void findsSameEventsAsScanning() {
+    Random random = new Random(3);
+    long base = EpochRange.fromDays(JANUARY_1, 1, UTC).start();
+
+    List<CalendarEvent> events = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      long start = base + random.nextInt(30 * MINUTES_PER_DAY);
+      long duration = random.nextInt(10) == 0 ? 0 : random.nextInt(3 * MINUTES_PER_DAY);
+      events.add(new CalendarEvent("Event " + i, EpochRange.fromStartDuration(start, duration),
+          Arrays.asList(PERSON_A)));
+    }
+    EventIntervalTree tree = new EventIntervalTree(events);
+
+    for (int i = 0; i < 200; i++) {
+      long start = base + random.nextInt(32 * MINUTES_PER_DAY) - MINUTES_PER_DAY;
+      EpochRange range = EpochRange.fromStartDuration(start, random.nextInt(2 * MINUTES_PER_DAY));
+
+      List<CalendarEvent> expected = new ArrayList<>();
+      for (CalendarEvent event : events) {
+        if (event.getWhen().overlaps(range)) {
+          expected.add(event);
+        }
+      }
+
+      List<CalendarEvent> actual = tree.findOverlapping(range);
+      Assert.assertEquals(expected.size(), actual.size());
+      Assert.assertTrue(actual.containsAll(expected));
+    }
+  }
+
+  @Test
+  public void singleDayWindowMatchesDayQuery() {
+    FindMeetingQuery query = new FindMeetingQuery();
+    Collection<Event> events = Arrays.asList(Events.events);
+
+    List<CalendarEvent> calendarEvents = new ArrayList<>();
+    for (Event event : events) {
+      calendarEvents.add(CalendarEvent.fromEvent(event, JANUARY_1, UTC));
+    }
+    EventIntervalTree tree = new EventIntervalTree(calendarEvents);
+    EpochRange window = EpochRange.fromDays(JANUARY_1, 1, UTC);
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList("Isabella", "Liam"), 30);
+    request.addOptionalAttendee("Emma");
+
+    List<EpochRange> expected = new ArrayList<>();
+    for (TimeRange range : query.query(events, request)) {
+      expected.add(EpochRange.fromLocalTimes(JANUARY_1, range, UTC));
+    }
+
+    Assert.assertEquals(expected, query.query(tree, request, window));
+  }
+
+  @Test
+  public void meetingsCanSpanDays() {
+    // Person A works 9:00 to 17:00 on both days. A 16 hour meeting only fits overnight.
+    List<CalendarEvent> events = Arrays.asList(
+        new CalendarEvent("Day 1", EpochRange.fromLocalTimes(JANUARY_1,
+            TimeRange.fromStartEnd(TIME_0900AM, TIME_1700PM, false), UTC), Arrays.asList(PERSON_A)),
+        new CalendarEvent("Day 2", EpochRange.fromLocalTimes(JANUARY_2,
+            TimeRange.fromStartEnd(TIME_0900AM, TIME_1700PM, false), UTC), Arrays.asList(PERSON_A)),
+        new CalendarEvent("Elsewhere", EpochRange.fromDays(JANUARY_1, 2, UTC),
+            Arrays.asList(PERSON_B)));
+    EventIntervalTree tree = new EventIntervalTree(events);
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), 16 * DURATION_1_HOUR);
+
+    Collection<EpochRange> actual =
+        new FindMeetingQuery().query(tree, request, EpochRange.fromDays(JANUARY_1, 2, UTC));
+    Collection<EpochRange> expected = Arrays.asList(
+        EpochRange.fromStartEnd(events.get(0).getWhen().end(), events.get(1).getWhen().start()));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void localTimesFollowDaylightSavingTime() {
+    // Clocks in New York went forward an hour on 2020-03-08, so that day is 23 hours long.
+    ZoneId newYork = ZoneId.of("America/New_York");
+    LocalDate march8 = LocalDate.of(2020, 3, 8);
+    TimeRange nineToFive = TimeRange.fromStartEnd(TIME_0900AM, TIME_1700PM, false);
+
+    Assert.assertEquals(23 * DURATION_1_HOUR, EpochRange.fromDays(march8, 1, newYork).duration());
+    Assert.assertEquals(8 * DURATION_1_HOUR,
+        EpochRange.fromLocalTimes(march8, nineToFive, newYork).duration());
+  }
+}
@@ -0,0 +1,87 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Checks the queries that find the busy times of many attendees in parallel against the same
+ * queries on a calendar where each group of attendees is a single person.
+ */
+@RunWith(JUnit4.class)
+public final class ManyAttendeesTest {
+  private static final String MANDATORY = "Mandatory";
+  private static final String OPTIONAL = "Optional";
+
+  private static final int DURATION_30_MINUTES = 30;
+
+  // Enough attendees in each group for their busy times to be found in parallel.
+  private static final int GROUP_SIZE = TimeRangeList.PARALLEL_THRESHOLD;
+
+  @Test
+  public void sameAnswersAsOneAttendeePerGroup() {
+    Random random = new Random(42);
+    List<String> people = new ArrayList<>();
+    for (int i = 0; i < GROUP_SIZE * 2; i++) {
+      people.add("Person " + i);
+    }
+
+    for (int round = 0; round < 20; round++) {
+      List<Event> events = new ArrayList<>();
+      List<Event> groupEvents = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        // Some events have no duration, which still splits the free time around them.
+        int start = random.nextInt(TimeRange.WHOLE_DAY.duration());
+        int duration = random.nextInt(Math.min(60, TimeRange.WHOLE_DAY.duration() - start));
+        TimeRange when = TimeRange.fromStartDuration(start, duration);
+
+        // Leave a few people without events.
+        int person = random.nextInt(people.size() - 2);
+        events.add(new Event("Event " + i, when, Arrays.asList(people.get(person))));
+        groupEvents.add(new Event("Event " + i, when,
+            Arrays.asList(person < GROUP_SIZE ? MANDATORY : OPTIONAL)));
+      }
+
+      MeetingRequest request =
+          new MeetingRequest(people.subList(0, GROUP_SIZE), DURATION_30_MINUTES);
+      for (String person : people.subList(GROUP_SIZE, people.size())) {
+        request.addOptionalAttendee(person);
+      }
+
+      MeetingRequest groupRequest =
+          new MeetingRequest(Arrays.asList(MANDATORY), DURATION_30_MINUTES);
+      groupRequest.addOptionalAttendee(OPTIONAL);
+
+      FindMeetingQuery query = new FindMeetingQuery();
+      Collection<TimeRange> expected = query.query(groupEvents, groupRequest);
+
+      Assert.assertEquals(expected, query.query(events, request));
+
+      // An index built up by changes computes each attendee's busy times as they change.
+      SnapshotCalendar calendar = new SnapshotCalendar();
+      calendar.addEvents(events.subList(0, events.size() / 2));
+      calendar.addEvents(events.subList(events.size() / 2, events.size()));
+      Assert.assertEquals(expected, query.query(calendar.snapshot().getIndex(), request));
+    }
+  }
+}
@@ -0,0 +1,156 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class MappedEventRepositoryTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final int TIME_0800AM = TimeRange.getTimeInMinutes(8, 0);
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+
+  private static final Event EVENT_1 = new Event("Event 1",
+      TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false), Arrays.asList(PERSON_A));
+  private static final Event EVENT_2 = new Event("Événement 2",
+      TimeRange.fromStartEnd(TIME_0800AM, TIME_0900AM, false), Arrays.asList(PERSON_A, PERSON_B));
+  private static final Event EVENT_3 = new Event("Event 3",
+      TimeRange.fromStartDuration(TIME_0900AM, 0), Arrays.asList());
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private Path path;
+
+  @Before
+  public void setUp() {
+    path = folder.getRoot().toPath().resolve("events.log");
+  }
+
+  @Test
+  public void eventsSurviveReopening() throws IOException {
+    try (MappedEventRepository repository = MappedEventRepository.open(path)) {
+      repository.add(EVENT_1);
+      repository.add(EVENT_2);
+      Assert.assertEquals(Arrays.asList(EVENT_1, EVENT_2), repository.getEvents());
+    }
+
+    try (MappedEventRepository repository = MappedEventRepository.open(path)) {
+      Assert.assertEquals(2, repository.size());
+      Assert.assertEquals(Arrays.asList(EVENT_1, EVENT_2), repository.getEvents());
+
+      repository.add(EVENT_3);
+      Assert.assertEquals(3, repository.size());
+    }
+
+    try (MappedEventRepository repository = MappedEventRepository.open(path)) {
+      Assert.assertEquals(Arrays.asList(EVENT_1, EVENT_2, EVENT_3), repository.getEvents());
+
+      List<Event> visited = new ArrayList<>();
+      repository.forEachEvent(visited::add);
+      Assert.assertEquals(Arrays.asList(EVENT_1, EVENT_2, EVENT_3), visited);
+    }
+  }
+
+  @Test
+  public void eventsWrittenWithoutClosingAreKept() throws IOException {
+    MappedEventRepository repository = MappedEventRepository.open(path);
+    repository.add(EVENT_1);
+    repository.add(EVENT_2);
+
+    // Open the log again without closing it, as if the application had stopped.
+    try (MappedEventRepository reopened = MappedEventRepository.open(path)) {
+      Assert.assertEquals(2, reopened.size());
+      Assert.assertEquals(Arrays.asList(EVENT_1, EVENT_2), reopened.getEvents());
+    }
+    repository.close();
+  }
+
+  @Test
+  public void batchesAreAddedInOrder() throws IOException {
+    try (MappedEventRepository repository = MappedEventRepository.open(path)) {
+      repository.add(EVENT_1);
+      repository.addAll(Arrays.asList(EVENT_2, EVENT_3));
+      repository.addAll(Arrays.asList());
+      repository.sync();
+    }
+
+    try (MappedEventRepository repository = MappedEventRepository.open(path)) {
+      Assert.assertEquals(3, repository.size());
+      Assert.assertEquals(Arrays.asList(EVENT_1, EVENT_2, EVENT_3), repository.getEvents());
+    }
+  }
+
+  @Test
+  public void recordCutShortIsDropped() throws IOException {
+    try (MappedEventRepository repository = MappedEventRepository.open(path)) {
+      repository.add(EVENT_1);
+      repository.add(EVENT_2);
+    }
+
+    // Cut the last record short, as if writing it was interrupted.
+    try (FileChannel log = FileChannel.open(path, StandardOpenOption.WRITE)) {
+      log.truncate(log.size() - 3);
+    }
+
+    try (MappedEventRepository repository = MappedEventRepository.open(path)) {
+      Assert.assertEquals(Arrays.asList(EVENT_1), repository.getEvents());
+
+      repository.add(EVENT_3);
+      Assert.assertEquals(Arrays.asList(EVENT_1, EVENT_3), repository.getEvents());
+    }
+  }
+
+  @Test
+  public void manyEventsMatchInMemoryRepository() throws IOException {
+    Random random = new Random(42);
+    InMemoryEventRepository expected = new InMemoryEventRepository();
+
+    try (MappedEventRepository repository = MappedEventRepository.open(path)) {
+      for (int i = 0; i < 5000; i++) {
+        int start = random.nextInt(TimeRange.WHOLE_DAY.duration());
+        int duration = random.nextInt(Math.min(120, TimeRange.WHOLE_DAY.duration() - start) + 1);
+        Event event = new Event("Event " + i, TimeRange.fromStartDuration(start, duration),
+            Arrays.asList(PERSON_A));
+        repository.add(event);
+        expected.add(event);
+      }
+      Assert.assertEquals(expected.getEvents(), repository.getEvents());
+    }
+
+    try (MappedEventRepository repository = MappedEventRepository.open(path)) {
+      Assert.assertEquals(expected.size(), repository.size());
+      Assert.assertEquals(expected.getEvents(), repository.getEvents());
+    }
+  }
+}
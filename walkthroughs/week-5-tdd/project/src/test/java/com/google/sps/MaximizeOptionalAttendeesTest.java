@@ -0,0 +1,233 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class MaximizeOptionalAttendeesTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+  private static final String PERSON_C = "Person C";
+  private static final String PERSON_D = "Person D";
+
+  private static final int TIME_0800AM = TimeRange.getTimeInMinutes(8, 0);
+  private static final int TIME_0830AM = TimeRange.getTimeInMinutes(8, 30);
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_0930AM = TimeRange.getTimeInMinutes(9, 30);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+
+  private static final int DURATION_30_MINUTES = 30;
+
+  private FindMeetingQuery query;
+
+  @Before
+  public void setUp() {
+    query = new FindMeetingQuery();
+  }
+
+  @Test
+  public void keepsTimesForMostOptionalAttendees() {
+    // No time works for all three optional attendees. C and D are both free between 8:30 and
+    // 9:00, which is the only time that works for two of them. The mandatory attendee is free.
+    //
+    // Optional: |---------B---------|
+    //           |--C--|     |-------C-------|
+    //                 |-D-|     |-----D-----|
+    // Day     : |---------------------------|
+    // Options :           |-1-|
+
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_1000AM, false),
+            Arrays.asList(PERSON_B)),
+        new Event("Event 2", TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0800AM, false),
+            Arrays.asList(PERSON_C)),
+        new Event("Event 3", TimeRange.fromStartEnd(TIME_0900AM, TimeRange.END_OF_DAY, true),
+            Arrays.asList(PERSON_C)),
+        new Event("Event 4", TimeRange.fromStartEnd(TIME_0800AM, TIME_0830AM, false),
+            Arrays.asList(PERSON_D)),
+        new Event("Event 5", TimeRange.fromStartEnd(TIME_0930AM, TimeRange.END_OF_DAY, true),
+            Arrays.asList(PERSON_D)));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    request.addOptionalAttendee(PERSON_B);
+    request.addOptionalAttendee(PERSON_C);
+    request.addOptionalAttendee(PERSON_D);
+
+    Collection<TimeRange> actual = query.queryMaximizingOptionalAttendees(events, request);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TIME_0830AM, TIME_0900AM, false));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void rangesWithDifferentOptionalAttendeesAreKeptApart() {
+    // B stops blocking meeting starts at 0:11, just as C starts blocking them, so one optional
+    // attendee is busy at every start before A's event blocks the rest of the day. The ranges
+    // overlap, but C is free throughout the first and B throughout the second.
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TimeRange.START_OF_DAY, 11, false),
+            Arrays.asList(PERSON_B)),
+        new Event("Event 2", TimeRange.fromStartEnd(40, 50, false), Arrays.asList(PERSON_C)),
+        new Event("Event 3", TimeRange.fromStartEnd(79, TimeRange.END_OF_DAY, true),
+            Arrays.asList(PERSON_A)));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    request.addOptionalAttendee(PERSON_B);
+    request.addOptionalAttendee(PERSON_C);
+
+    Collection<TimeRange> actual = query.queryMaximizingOptionalAttendees(events, request);
+    Collection<TimeRange> expected = Arrays.asList(
+        TimeRange.fromStartEnd(TimeRange.START_OF_DAY, 40, false),
+        TimeRange.fromStartEnd(11, 79, false));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void rangesSeparatedByABlockedStretchAreKeptApart() {
+    // Starts from 0:15 to 0:19 overlap both B and C. Every other start has one of them free.
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TimeRange.START_OF_DAY, 20, false),
+            Arrays.asList(PERSON_B)),
+        new Event("Event 2", TimeRange.fromStartEnd(44, TimeRange.END_OF_DAY, true),
+            Arrays.asList(PERSON_C)));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    request.addOptionalAttendee(PERSON_B);
+    request.addOptionalAttendee(PERSON_C);
+
+    Collection<TimeRange> actual = query.queryMaximizingOptionalAttendees(events, request);
+    Collection<TimeRange> expected = Arrays.asList(
+        TimeRange.fromStartEnd(TimeRange.START_OF_DAY, 44, false),
+        TimeRange.fromStartEnd(20, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected, actual);
+    Assert.assertEquals(tryEveryStart(new ArrayList<>(events), request), actual);
+  }
+
+  @Test
+  public void sameAsQueryWhenEveryoneFits() {
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartDuration(TIME_0800AM, DURATION_30_MINUTES),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartDuration(TIME_0900AM, DURATION_30_MINUTES),
+            Arrays.asList(PERSON_B)),
+        new Event("Event 3", TimeRange.fromStartDuration(TIME_0830AM, DURATION_30_MINUTES),
+            Arrays.asList(PERSON_C)));
+
+    MeetingRequest request =
+        new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), DURATION_30_MINUTES);
+    request.addOptionalAttendee(PERSON_C);
+
+    Assert.assertEquals(query.query(events, request),
+        query.queryMaximizingOptionalAttendees(events, request));
+  }
+
+  @Test
+  public void noOptionsWhenMandatoryAttendeeIsBusy() {
+    Collection<Event> events = Arrays.asList(new Event("Event 1", TimeRange.WHOLE_DAY,
+        Arrays.asList(PERSON_A)));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    request.addOptionalAttendee(PERSON_B);
+
+    Collection<TimeRange> actual = query.queryMaximizingOptionalAttendees(events, request);
+    Collection<TimeRange> expected = Arrays.asList();
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void matchesEveryPossibleStartOnRandomCalendars() {
+    Random random = new Random(7);
+    List<String> people = Arrays.asList(PERSON_A, PERSON_B, PERSON_C, PERSON_D, "Person E");
+
+    for (int round = 0; round < 200; round++) {
+      List<Event> events = new ArrayList<>();
+      for (int i = random.nextInt(15); i > 0; i--) {
+        int start = random.nextInt(TimeRange.WHOLE_DAY.duration() - 1);
+        int duration = 1 + random.nextInt(Math.min(240, TimeRange.WHOLE_DAY.duration() - start));
+        events.add(new Event("Event " + i, TimeRange.fromStartDuration(start, duration),
+            Arrays.asList(people.get(random.nextInt(people.size())))));
+      }
+
+      int meetingDuration = 1 + random.nextInt(120);
+      MeetingRequest request = new MeetingRequest(people.subList(0, 1), meetingDuration);
+      for (String person : people.subList(1, people.size())) {
+        request.addOptionalAttendee(person);
+      }
+
+      Assert.assertEquals(tryEveryStart(events, request),
+          query.queryMaximizingOptionalAttendees(events, request));
+    }
+  }
+
+  /**
+   * Checks every possible meeting start on its own and groups neighbouring starts that work for
+   * the same, largest, set of optional attendees.
+   */
+  private static List<TimeRange> tryEveryStart(List<Event> events, MeetingRequest request) {
+    int duration = (int) request.getDuration();
+    int lastStart = TimeRange.WHOLE_DAY.duration() - duration;
+
+    List<Set<String>> freeAttendees = new ArrayList<>();
+    int most = -1;
+    for (int start = 0; start <= lastStart; start++) {
+      TimeRange meeting = TimeRange.fromStartDuration(start, duration);
+      Set<String> free = new HashSet<>(request.getOptionalAttendees());
+      boolean mandatoryFree = true;
+      for (Event event : events) {
+        if (event.getWhen().overlaps(meeting)) {
+          free.removeAll(event.getAttendees());
+          mandatoryFree &= Collections.disjoint(event.getAttendees(), request.getAttendees());
+        }
+      }
+      freeAttendees.add(mandatoryFree ? free : null);
+      if (mandatoryFree) {
+        most = Math.max(most, free.size());
+      }
+    }
+
+    List<TimeRange> times = new ArrayList<>();
+    int runStart = -1;
+    for (int start = 0; start <= lastStart + 1; start++) {
+      Set<String> free = start <= lastStart ? freeAttendees.get(start) : null;
+      boolean best = free != null && free.size() == most;
+      if (runStart >= 0 && (!best || !free.equals(freeAttendees.get(runStart)))) {
+        times.add(TimeRange.fromStartEnd(runStart, start - 1 + duration, false));
+        runStart = -1;
+      }
+      if (best && runStart < 0) {
+        runStart = start;
+      }
+    }
+    return times;
+  }
+}
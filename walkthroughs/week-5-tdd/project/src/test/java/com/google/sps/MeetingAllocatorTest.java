@@ -0,0 +1,235 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class MeetingAllocatorTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+  private static final int TIME_1100AM = TimeRange.getTimeInMinutes(11, 0);
+
+  private static final int DURATION_60_MINUTES = 60;
+
+  private static final Duration BUDGET = Duration.ofSeconds(1);
+
+  @Test
+  public void tightRequestsAreBookedFirst() {
+    // Person B is only free from 9 to 10, so booking the first request at the earliest time that
+    // works for Person A would leave no time for the second one.
+    EventIndex index = new EventIndex(Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0900AM, false),
+            Arrays.asList(PERSON_A, PERSON_B)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_1000AM, TimeRange.END_OF_DAY, true),
+            Arrays.asList(PERSON_B))));
+    List<MeetingRequest> requests = Arrays.asList(
+        new MeetingRequest(Arrays.asList(PERSON_A), DURATION_60_MINUTES),
+        new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), DURATION_60_MINUTES));
+
+    List<TimeRange> actual = new MeetingAllocator(60, BUDGET).allocate(index, requests);
+    List<TimeRange> expected = Arrays.asList(
+        TimeRange.fromStartDuration(TIME_1000AM, DURATION_60_MINUTES),
+        TimeRange.fromStartDuration(TIME_0900AM, DURATION_60_MINUTES));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void optionalAttendeesAreNotBookedTwice() {
+    // Person A is only free from 9 to 10 and Person B from 9 to 11. Person B is free to join the
+    // first meeting, so the second one, which needs Person B, has to take the later hour.
+    EventIndex index = new EventIndex(Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0900AM, false),
+            Arrays.asList(PERSON_A, PERSON_B)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_1000AM, TimeRange.END_OF_DAY, true),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 3", TimeRange.fromStartEnd(TIME_1100AM, TimeRange.END_OF_DAY, true),
+            Arrays.asList(PERSON_B))));
+    MeetingRequest withOptional =
+        new MeetingRequest(Arrays.asList(PERSON_A), DURATION_60_MINUTES);
+    withOptional.addOptionalAttendee(PERSON_B);
+    List<MeetingRequest> requests = Arrays.asList(withOptional,
+        new MeetingRequest(Arrays.asList(PERSON_B), DURATION_60_MINUTES));
+
+    List<TimeRange> actual = new MeetingAllocator(60, BUDGET).allocate(index, requests);
+    List<TimeRange> expected = Arrays.asList(
+        TimeRange.fromStartDuration(TIME_0900AM, DURATION_60_MINUTES),
+        TimeRange.fromStartDuration(TIME_1000AM, DURATION_60_MINUTES));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void requestsThatDoNotFitAreLeftUnbooked() {
+    // Person A is only free from 9 to 11, which fits two of the three meetings.
+    EventIndex index = new EventIndex(Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0900AM, false),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_1100AM, TimeRange.END_OF_DAY, true),
+            Arrays.asList(PERSON_A))));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_60_MINUTES);
+
+    List<TimeRange> actual = new MeetingAllocator(60, BUDGET)
+        .allocate(index, Arrays.asList(request, request, request));
+
+    Assert.assertEquals(1, Collections.frequency(actual, null));
+  }
+
+  @Test
+  public void booksEveryRequestWhenPossible() {
+    Random random = new Random(42);
+    List<String> people = Arrays.asList(PERSON_A, PERSON_B, "Person C");
+    int step = 120;
+
+    for (int round = 0; round < 200; round++) {
+      List<Event> events = randomEvents(random, people, 6);
+      List<MeetingRequest> requests = randomRequests(random, people, 5, step);
+      EventIndex index = new EventIndex(events);
+
+      List<TimeRange> actual = new MeetingAllocator(step, BUDGET).allocate(index, requests);
+
+      assertValid(events, requests, actual);
+      if (canBookAll(events, requests, step, new ArrayList<TimeRange>())) {
+        Assert.assertFalse(actual.contains(null));
+      }
+    }
+  }
+
+  @Test
+  public void largeBatchesStayValidWithinBudget() {
+    Random random = new Random(42);
+    List<String> people = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      people.add("Person " + i);
+    }
+    List<Event> events = randomEvents(random, people, 200);
+    List<MeetingRequest> requests = randomRequests(random, people, 1000, 15);
+
+    List<TimeRange> actual = new MeetingAllocator(15, Duration.ofMillis(200))
+        .allocate(new EventIndex(events), requests);
+
+    assertValid(events, requests, actual);
+  }
+
+  private static List<Event> randomEvents(Random random, List<String> people, int count) {
+    int day = TimeRange.WHOLE_DAY.duration();
+    List<Event> events = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      int start = random.nextInt(day - 1);
+      int duration = 1 + random.nextInt(Math.min(day - start - 1, 240));
+      events.add(new Event("Event " + i, TimeRange.fromStartDuration(start, duration),
+          Arrays.asList(people.get(random.nextInt(people.size())))));
+    }
+    return events;
+  }
+
+  private static List<MeetingRequest> randomRequests(Random random, List<String> people,
+      int count, int step) {
+    List<MeetingRequest> requests = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      List<String> attendees = new ArrayList<>();
+      attendees.add(people.get(random.nextInt(people.size())));
+      String other = people.get(random.nextInt(people.size()));
+      if (random.nextBoolean() && !attendees.contains(other)) {
+        attendees.add(other);
+      }
+      requests.add(new MeetingRequest(attendees, step * (1 + random.nextInt(2))));
+    }
+    return requests;
+  }
+
+  /**
+   * Checks that every booked time is free for the request's attendees and that nobody is booked
+   * twice.
+   */
+  private static void assertValid(List<Event> events, List<MeetingRequest> requests,
+      List<TimeRange> times) {
+    Assert.assertEquals(requests.size(), times.size());
+    for (int i = 0; i < requests.size(); i++) {
+      TimeRange time = times.get(i);
+      if (time == null) {
+        continue;
+      }
+
+      Assert.assertEquals(requests.get(i).getDuration(), time.duration());
+      Assert.assertTrue(TimeRange.WHOLE_DAY.contains(time));
+      for (Event event : events) {
+        Assert.assertFalse(sharesAttendee(event.getAttendees(), requests.get(i))
+            && event.getWhen().overlaps(time));
+      }
+      for (int j = 0; j < i; j++) {
+        Assert.assertFalse(times.get(j) != null
+            && sharesAttendee(requests.get(j).getAttendees(), requests.get(i))
+            && times.get(j).overlaps(time));
+      }
+    }
+  }
+
+  private static boolean sharesAttendee(Collection<String> attendees, MeetingRequest request) {
+    for (String attendee : attendees) {
+      if (request.getAttendees().contains(attendee)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Checks by trying every combination of grid times whether all requests can be booked.
+   */
+  private static boolean canBookAll(List<Event> events, List<MeetingRequest> requests, int step,
+      List<TimeRange> booked) {
+    if (booked.size() == requests.size()) {
+      return true;
+    }
+
+    MeetingRequest request = requests.get(booked.size());
+    for (int start = 0; start + request.getDuration() <= TimeRange.WHOLE_DAY.duration();
+        start += step) {
+      TimeRange time = TimeRange.fromStartDuration(start, (int) request.getDuration());
+      boolean free = true;
+      for (Event event : events) {
+        free &= !(sharesAttendee(event.getAttendees(), request) && event.getWhen().overlaps(time));
+      }
+      for (int j = 0; j < booked.size(); j++) {
+        free &= !(sharesAttendee(requests.get(j).getAttendees(), request)
+            && booked.get(j).overlaps(time));
+      }
+      if (free) {
+        booked.add(time);
+        if (canBookAll(events, requests, step, booked)) {
+          return true;
+        }
+        booked.remove(booked.size() - 1);
+      }
+    }
+    return false;
+  }
+}
@@ -14,6 +14,7 @@
 
 package com.google.sps;
 
+import com.google.gson.Gson;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -44,4 +45,15 @@ public final class MeetingRequestTest {
     int expected = 0;
     Assert.assertEquals(expected, actual);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void missingOptionalAttendeesInJsonAreEmpty() {
+    // This is what the web page sends.
+    String json = "{\"duration\": 60, \"attendees\": [\"Person A\"]}";
+    MeetingRequest request = new Gson().fromJson(json, MeetingRequest.class);
+
+    Assert.assertEquals(DURATION_1_HOUR, request.getDuration());
+    Assert.assertEquals(Arrays.asList(PERSON_A), new ArrayList<>(request.getAttendees()));
+    Assert.assertTrue(request.getOptionalAttendees().isEmpty());
+  }
+}
@@ -0,0 +1,121 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class QueryCacheTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+  private static final String PERSON_C = "Person C";
+
+  private static final String MODE = "query";
+  private static final int DURATION_30_MINUTES = 30;
+
+  private static final Collection<TimeRange> ANSWER = Arrays.asList(TimeRange.WHOLE_DAY);
+
+  private final AtomicInteger queries = new AtomicInteger();
+  private final Supplier<Collection<TimeRange>> query = () -> {
+    queries.incrementAndGet();
+    return ANSWER;
+  };
+
+  @Test
+  public void sameRequestInAnyOrderIsAHit() {
+    QueryCache cache = new QueryCache(10);
+    MeetingRequest request =
+        new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), DURATION_30_MINUTES);
+    request.addOptionalAttendee(PERSON_C);
+    MeetingRequest sameRequest =
+        new MeetingRequest(Arrays.asList(PERSON_B, PERSON_A, PERSON_B), DURATION_30_MINUTES);
+    sameRequest.addOptionalAttendee(PERSON_C);
+
+    Assert.assertEquals(ANSWER, cache.get(request, MODE, 1, query));
+    Assert.assertEquals(ANSWER, cache.get(sameRequest, MODE, 1, query));
+
+    Assert.assertEquals(1, queries.get());
+    Assert.assertEquals(1, cache.getHits());
+    Assert.assertEquals(1, cache.getMisses());
+  }
+
+  @Test
+  public void differentRequestsAreMisses() {
+    QueryCache cache = new QueryCache(10);
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    MeetingRequest optional = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    optional.addOptionalAttendee(PERSON_B);
+
+    cache.get(request, MODE, 1, query);
+    cache.get(new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES + 1), MODE, 1,
+        query);
+    cache.get(optional, MODE, 1, query);
+    cache.get(request, "other mode", 1, query);
+
+    Assert.assertEquals(4, queries.get());
+    Assert.assertEquals(0, cache.getHits());
+  }
+
+  @Test
+  public void cachingDoesNotGiveNamesIds() {
+    QueryCache cache = new QueryCache(10);
+    String unknown = "Nobody in the cache has this name";
+
+    cache.get(new MeetingRequest(Arrays.asList(unknown), DURATION_30_MINUTES), MODE, 1, query);
+
+    Assert.assertEquals(-1, AttendeeDictionary.findId(unknown));
+  }
+
+  @Test
+  public void newerCalendarVersionDropsOldAnswers() {
+    QueryCache cache = new QueryCache(10);
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+
+    cache.get(request, MODE, 1, query);
+    cache.get(request, MODE, 2, query);
+
+    Assert.assertEquals(2, queries.get());
+    Assert.assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void leastRecentlyUsedAnswerIsEvicted() {
+    QueryCache cache = new QueryCache(2);
+    MeetingRequest requestA = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    MeetingRequest requestB = new MeetingRequest(Arrays.asList(PERSON_B), DURATION_30_MINUTES);
+    MeetingRequest requestC = new MeetingRequest(Arrays.asList(PERSON_C), DURATION_30_MINUTES);
+
+    cache.get(requestA, MODE, 1, query);
+    cache.get(requestB, MODE, 1, query);
+    cache.get(requestA, MODE, 1, query);
+    cache.get(requestC, MODE, 1, query);
+
+    // B was used least recently, so it was evicted and A was kept.
+    cache.get(requestA, MODE, 1, query);
+    cache.get(requestB, MODE, 1, query);
+
+    Assert.assertEquals(4, queries.get());
+    Assert.assertEquals(2, cache.getHits());
+    Assert.assertEquals(2, cache.getEvictions());
+  }
+}
@@ -0,0 +1,144 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class RecurringEventTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final ZoneId UTC = ZoneOffset.UTC;
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+  // A Monday.
+  private static final LocalDate JANUARY_6 = LocalDate.of(2020, 1, 6);
+
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+  private static final int TIME_1100AM = TimeRange.getTimeInMinutes(11, 0);
+
+  private static final TimeRange STANDUP = TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false);
+
+  @Test
+  public void dailyWithExceptionAndLastDate() {
+    Recurrence recurrence =
+        Recurrence.daily(JANUARY_6).except(JANUARY_6.plusDays(2)).until(JANUARY_6.plusDays(4));
+
+    List<Boolean> actual = new ArrayList<>();
+    for (int day = -1; day <= 5; day++) {
+      actual.add(recurrence.occursOn(JANUARY_6.plusDays(day)));
+    }
+
+    Assert.assertEquals(Arrays.asList(false, true, true, false, true, true, false), actual);
+  }
+
+  @Test
+  public void weeklyOnSomeDaysEveryOtherWeek() {
+    Recurrence recurrence =
+        Recurrence.weekly(JANUARY_6, DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY).every(2);
+
+    Assert.assertTrue(recurrence.occursOn(JANUARY_6));
+    Assert.assertTrue(recurrence.occursOn(JANUARY_6.plusDays(2)));
+    Assert.assertFalse(recurrence.occursOn(JANUARY_6.plusDays(1)));
+    Assert.assertFalse(recurrence.occursOn(JANUARY_6.plusWeeks(1)));
+    Assert.assertTrue(recurrence.occursOn(JANUARY_6.plusWeeks(2).plusDays(2)));
+  }
+
+  @Test
+  public void weeklyDefaultsToDayOfFirstDate() {
+    Recurrence recurrence = Recurrence.weekly(JANUARY_6);
+
+    Assert.assertTrue(recurrence.occursOn(JANUARY_6.plusWeeks(3)));
+    Assert.assertFalse(recurrence.occursOn(JANUARY_6.plusWeeks(3).plusDays(1)));
+  }
+
+  @Test
+  public void occurrencesOnlyWithinWindowAndAtLocalTime() {
+    // Daylight saving time starts in New York on March 8, 2020.
+    LocalDate march7 = LocalDate.of(2020, 3, 7);
+    RecurringEvent standup = new RecurringEvent("Standup", STANDUP, Arrays.asList(PERSON_A),
+        Recurrence.daily(JANUARY_6), NEW_YORK);
+
+    List<CalendarEvent> actual = standup.findOccurrences(EpochRange.fromDays(march7, 2, NEW_YORK));
+
+    Assert.assertEquals(2, actual.size());
+    Assert.assertEquals(LocalDateTime.of(2020, 3, 7, 9, 0),
+        LocalDateTime.ofInstant(actual.get(0).getWhen().startInstant(), NEW_YORK));
+    Assert.assertEquals(LocalDateTime.of(2020, 3, 8, 9, 0),
+        LocalDateTime.ofInstant(actual.get(1).getWhen().startInstant(), NEW_YORK));
+  }
+
+  @Test
+  public void onlyTheAttendeesSeriesAreExpanded() {
+    RecurringEvent standup = new RecurringEvent("Standup", STANDUP, Arrays.asList(PERSON_A),
+        Recurrence.daily(JANUARY_6), UTC);
+    RecurringEvent review = new RecurringEvent("Review",
+        TimeRange.fromStartEnd(TIME_1000AM, TIME_1100AM, false), Arrays.asList(PERSON_B),
+        Recurrence.daily(JANUARY_6), UTC);
+    EventCalendar calendar =
+        new EventCalendar(Collections.emptyList(), Arrays.asList(standup, review));
+    EpochRange window = EpochRange.fromDays(JANUARY_6, 2, UTC);
+
+    Assert.assertEquals(standup.findOccurrences(window),
+        calendar.findOverlapping(window, Arrays.asList(PERSON_A, "Person C")));
+    Assert.assertEquals(4, calendar.findOverlapping(window).size());
+    Assert.assertEquals(Arrays.asList(), calendar.findOverlapping(window, Arrays.asList()));
+  }
+
+  @Test
+  public void queryMatchesExpandedCalendar() {
+    // Person A has a weekday standup and Person B has a weekly review, except in the second week.
+    List<RecurringEvent> recurringEvents = Arrays.asList(
+        new RecurringEvent("Standup", STANDUP, Arrays.asList(PERSON_A),
+            Recurrence.weekly(JANUARY_6, DayOfWeek.MONDAY, DayOfWeek.TUESDAY,
+                DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY),
+            UTC),
+        new RecurringEvent("Review", TimeRange.fromStartEnd(TIME_1000AM, TIME_1100AM, false),
+            Arrays.asList(PERSON_B), Recurrence.weekly(JANUARY_6).except(JANUARY_6.plusWeeks(1)),
+            UTC));
+    List<CalendarEvent> events = Arrays.asList(new CalendarEvent("Offsite",
+        EpochRange.fromDays(JANUARY_6.plusDays(3), 1, UTC), Arrays.asList(PERSON_B)));
+
+    EpochRange window = EpochRange.fromDays(JANUARY_6, 14, UTC);
+    List<CalendarEvent> expanded = new ArrayList<>(events);
+    for (RecurringEvent recurringEvent : recurringEvents) {
+      expanded.addAll(recurringEvent.findOccurrences(window));
+    }
+    Assert.assertEquals(10 + 1 + 1, expanded.size());
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), 60);
+    FindMeetingQuery query = new FindMeetingQuery();
+
+    Assert.assertEquals(query.query(new EventIntervalTree(expanded), request, window),
+        query.query(new EventCalendar(events, recurringEvents), request, window));
+    Assert.assertEquals(query.query(new EventIntervalTree(events), request, window),
+        query.query(new EventCalendar(events, Collections.emptyList()), request, window));
+  }
+}
@@ -0,0 +1,127 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class RoomsTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final Room SMALL_ROOM = new Room("Small Room", 2, Arrays.<String>asList());
+  private static final Room LARGE_ROOM =
+      new Room("Large Room", 8, Arrays.asList("projector", "whiteboard"));
+  private static final Room MEDIUM_ROOM = new Room("Medium Room", 4, Arrays.asList("whiteboard"));
+
+  private static final RoomIndex ROOMS =
+      new RoomIndex(Arrays.asList(SMALL_ROOM, LARGE_ROOM, MEDIUM_ROOM));
+
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+  private static final int TIME_1100AM = TimeRange.getTimeInMinutes(11, 0);
+
+  private static final int DURATION_60_MINUTES = 60;
+
+  @Test
+  public void suitableRoomsAreSmallestFirst() {
+    Assert.assertEquals(Arrays.asList(SMALL_ROOM, MEDIUM_ROOM, LARGE_ROOM),
+        ROOMS.findSuitable(1, Arrays.<String>asList()));
+    Assert.assertEquals(Arrays.asList(MEDIUM_ROOM, LARGE_ROOM),
+        ROOMS.findSuitable(3, Arrays.asList("whiteboard")));
+    Assert.assertEquals(Arrays.asList(LARGE_ROOM),
+        ROOMS.findSuitable(1, Arrays.asList("projector")));
+    Assert.assertEquals(Arrays.asList(), ROOMS.findSuitable(9, Arrays.<String>asList()));
+    Assert.assertEquals(Arrays.asList(), ROOMS.findSuitable(1, Arrays.asList("piano")));
+  }
+
+  @Test
+  public void capacityDefaultsToEveryAttendee() {
+    MeetingRequest request =
+        new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), DURATION_60_MINUTES);
+    request.addOptionalAttendee("Person C");
+
+    Assert.assertEquals(3, request.getRoomCapacity());
+
+    request.setRoomCapacity(6);
+    Assert.assertEquals(6, request.getRoomCapacity());
+  }
+
+  @Test
+  public void roomsAreIntersectedWithAttendees() {
+    // Person A is busy from 9 to 10, the small room is booked from 10 to 11 and the medium room
+    // is booked for the whole day.
+    EventIndex index = new EventIndex(Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_1000AM, TIME_1100AM, false),
+            Arrays.asList(PERSON_B, SMALL_ROOM.getName())),
+        new Event("Event 3", TimeRange.WHOLE_DAY, Arrays.asList(MEDIUM_ROOM.getName()))));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_60_MINUTES);
+
+    List<RoomSlot> actual = new FindMeetingQuery().queryWithRooms(index, ROOMS, request);
+    List<RoomSlot> expected = Arrays.asList(
+        new RoomSlot(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0900AM, false),
+            SMALL_ROOM),
+        new RoomSlot(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0900AM, false),
+            LARGE_ROOM),
+        new RoomSlot(TimeRange.fromStartEnd(TIME_1000AM, TimeRange.END_OF_DAY, true),
+            LARGE_ROOM),
+        new RoomSlot(TimeRange.fromStartEnd(TIME_1100AM, TimeRange.END_OF_DAY, true),
+            SMALL_ROOM));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void optionalAttendeesAreDroppedWhenNoRoomIsFreeForEveryone() {
+    // Person B is only free from 9 to 10, when the only room with a projector is booked.
+    EventIndex index = new EventIndex(Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0900AM, false),
+            Arrays.asList(PERSON_B)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_1000AM, TimeRange.END_OF_DAY, true),
+            Arrays.asList(PERSON_B)),
+        new Event("Event 3", TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false),
+            Arrays.asList(PERSON_A, LARGE_ROOM.getName()))));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_60_MINUTES);
+    request.addOptionalAttendee(PERSON_B);
+    request.addRoomEquipment("projector");
+
+    List<RoomSlot> actual = new FindMeetingQuery().queryWithRooms(index, ROOMS, request);
+    List<RoomSlot> expected = Arrays.asList(
+        new RoomSlot(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0900AM, false),
+            LARGE_ROOM),
+        new RoomSlot(TimeRange.fromStartEnd(TIME_1000AM, TimeRange.END_OF_DAY, true),
+            LARGE_ROOM));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void noSuitableRoom() {
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_60_MINUTES);
+    request.addRoomEquipment("piano");
+
+    Assert.assertEquals(Arrays.asList(),
+        new FindMeetingQuery().queryWithRooms(new EventIndex(Arrays.<Event>asList()), ROOMS,
+            request));
+  }
+}
@@ -0,0 +1,112 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class SearchEarliestTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final ZoneId UTC = ZoneOffset.UTC;
+  private static final LocalDate JANUARY_6 = LocalDate.of(2020, 1, 6);
+  private static final EpochRange WEEK = EpochRange.fromDays(JANUARY_6, 7, UTC);
+
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+  private static final int TIME_1100AM = TimeRange.getTimeInMinutes(11, 0);
+  private static final int TIME_1130PM = TimeRange.getTimeInMinutes(23, 30);
+
+  private static final int DURATION_30_MINUTES = 30;
+  private static final int DURATION_60_MINUTES = 60;
+
+  private final FindMeetingQuery query = new FindMeetingQuery();
+
+  @Test
+  public void skipsBusyDays() {
+    // Person A is busy for the first two days, except from 10 to 11 on the second day.
+    EventCalendar calendar = calendar(
+        busy(EpochRange.fromStartEnd(WEEK.start(), at(1, TIME_1000AM)), PERSON_A),
+        busy(EpochRange.fromStartEnd(at(1, TIME_1100AM), at(2, 0)), PERSON_A));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_60_MINUTES);
+
+    Optional<EpochRange> actual = query.searchEarliest(calendar, request, WEEK);
+
+    Assert.assertEquals(Optional.of(EpochRange.fromStartDuration(at(1, TIME_1000AM),
+        DURATION_60_MINUTES)), actual);
+  }
+
+  @Test
+  public void meetingCanCrossMidnight() {
+    // Person A is only free from 23:30 on the first day to 00:30 on the second day.
+    EventCalendar calendar = calendar(
+        busy(EpochRange.fromStartEnd(WEEK.start(), at(0, TIME_1130PM)), PERSON_A),
+        busy(EpochRange.fromStartEnd(at(1, DURATION_30_MINUTES), WEEK.end()), PERSON_A));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_60_MINUTES);
+
+    Optional<EpochRange> actual = query.searchEarliest(calendar, request, WEEK);
+
+    Assert.assertEquals(Optional.of(EpochRange.fromStartDuration(at(0, TIME_1130PM),
+        DURATION_60_MINUTES)), actual);
+  }
+
+  @Test
+  public void optionalAttendeeIsIncludedWhenTheDayAllows() {
+    // Person B is busy in the morning of the first day, so the earliest time for both of them
+    // is later that day.
+    EventCalendar calendar =
+        calendar(busy(EpochRange.fromStartEnd(WEEK.start(), at(0, TIME_1000AM)), PERSON_B));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    request.addOptionalAttendee(PERSON_B);
+
+    Optional<EpochRange> actual = query.searchEarliest(calendar, request, WEEK);
+
+    Assert.assertEquals(Optional.of(EpochRange.fromStartDuration(at(0, TIME_1000AM),
+        DURATION_30_MINUTES)), actual);
+  }
+
+  @Test
+  public void nothingWhenBusyForTheWholeHorizon() {
+    EventCalendar calendar = calendar(busy(WEEK, PERSON_A));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+
+    Assert.assertEquals(Optional.empty(), query.searchEarliest(calendar, request, WEEK));
+  }
+
+  /**
+   * Returns the epoch minute at {@code minuteOfDay} on the day {@code day} days into the week.
+   */
+  private static long at(int day, int minuteOfDay) {
+    return WEEK.start() + day * TimeRange.WHOLE_DAY.duration() + minuteOfDay;
+  }
+
+  private static CalendarEvent busy(EpochRange when, String attendee) {
+    return new CalendarEvent("Busy", when, Arrays.asList(attendee));
+  }
+
+  private static EventCalendar calendar(CalendarEvent... events) {
+    return new EventCalendar(Arrays.asList(events), Collections.emptyList());
+  }
+}
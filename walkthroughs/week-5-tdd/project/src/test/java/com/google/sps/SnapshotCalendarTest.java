@@ -0,0 +1,124 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class SnapshotCalendarTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+
+  private static final int DURATION_30_MINUTES = 30;
+
+  private static final Event EVENT_1 =
+      new Event("Event 1", TimeRange.fromStartDuration(TIME_0900AM, DURATION_30_MINUTES),
+          Arrays.asList(PERSON_A));
+  private static final Event EVENT_2 =
+      new Event("Event 2", TimeRange.fromStartDuration(TIME_1000AM, DURATION_30_MINUTES),
+          Arrays.asList(PERSON_A, PERSON_B));
+
+  @Test
+  public void snapshotsDoNotSeeLaterChanges() {
+    SnapshotCalendar calendar = new SnapshotCalendar(Arrays.asList(EVENT_1));
+    CalendarSnapshot before = calendar.snapshot();
+
+    calendar.addEvent(EVENT_2);
+    CalendarSnapshot after = calendar.snapshot();
+
+    Assert.assertEquals(Arrays.asList(EVENT_1), before.getIndex().getEvents(PERSON_A));
+    Assert.assertEquals(Arrays.asList(), before.getIndex().getEvents(PERSON_B));
+    Assert.assertEquals(Arrays.asList(EVENT_1, EVENT_2), after.getIndex().getEvents(PERSON_A));
+    Assert.assertEquals(Arrays.asList(EVENT_2), after.getIndex().getEvents(PERSON_B));
+    Assert.assertEquals(before.getVersion() + 1, after.getVersion());
+    Assert.assertEquals(2, after.size());
+  }
+
+  @Test
+  public void builtIndexIsAddedAsOneVersion() {
+    SnapshotCalendar calendar = new SnapshotCalendar(Arrays.asList(EVENT_1));
+    List<CalendarSnapshot> notified = new ArrayList<>();
+    calendar.addListener(notified::add);
+    EventIndex.Builder builder = new EventIndex.Builder();
+    builder.add(EVENT_2);
+
+    calendar.addEvents(builder.build(), builder.size());
+
+    CalendarSnapshot snapshot = calendar.snapshot();
+    Assert.assertEquals(Arrays.asList(EVENT_1, EVENT_2), snapshot.getIndex().getEvents(PERSON_A));
+    Assert.assertEquals(Arrays.asList(EVENT_2), snapshot.getIndex().getEvents(PERSON_B));
+    Assert.assertEquals(1, snapshot.getVersion());
+    Assert.assertEquals(2, snapshot.size());
+    Assert.assertEquals(Arrays.asList(snapshot), notified);
+  }
+
+  @Test
+  public void removingEvents() {
+    SnapshotCalendar calendar = new SnapshotCalendar(Arrays.asList(EVENT_1, EVENT_2));
+
+    Assert.assertTrue(calendar.removeEvent(EVENT_2));
+    Assert.assertFalse(calendar.removeEvent(EVENT_2));
+
+    CalendarSnapshot snapshot = calendar.snapshot();
+    Assert.assertEquals(Arrays.asList(EVENT_1), snapshot.getIndex().getEvents(PERSON_A));
+    Assert.assertEquals(Arrays.asList(), snapshot.getIndex().getEvents(PERSON_B));
+    Assert.assertEquals(1, snapshot.size());
+  }
+
+  @Test
+  public void readersSeeWholeBatches() throws InterruptedException {
+    // Every batch books Person A and Person B at the same time, so a consistent snapshot always
+    // holds as many events for one as for the other.
+    SnapshotCalendar calendar = new SnapshotCalendar();
+    AtomicReference<String> failure = new AtomicReference<>();
+
+    Thread reader = new Thread(() -> {
+      CalendarSnapshot snapshot;
+      do {
+        snapshot = calendar.snapshot();
+        int eventsA = snapshot.getIndex().getEvents(PERSON_A).size();
+        int eventsB = snapshot.getIndex().getEvents(PERSON_B).size();
+        if (eventsA != eventsB || eventsA != snapshot.size() / 2) {
+          failure.set("inconsistent snapshot at version " + snapshot.getVersion());
+        }
+      } while (snapshot.getVersion() < 100);
+    });
+    reader.start();
+
+    for (int i = 0; i < 100; i++) {
+      Collection<Event> batch = new ArrayList<>();
+      batch.add(new Event("A " + i, TimeRange.fromStartDuration(i, 1), Arrays.asList(PERSON_A)));
+      batch.add(new Event("B " + i, TimeRange.fromStartDuration(i, 1), Arrays.asList(PERSON_B)));
+      calendar.addEvents(batch);
+    }
+    reader.join();
+
+    Assert.assertNull(failure.get());
+    List<Event> events = calendar.snapshot().getIndex().getEvents(PERSON_A);
+    Assert.assertEquals(100, events.size());
+  }
+}
@@ -0,0 +1,112 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class SortedEventArrayTest {
+  private static final String PERSON_A = "Person A";
+
+  private static final int TIME_0800AM = TimeRange.getTimeInMinutes(8, 0);
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+  private static final int TIME_1100AM = TimeRange.getTimeInMinutes(11, 0);
+
+  private static final Event EVENT_1 = new Event("Event 1",
+      TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false), Arrays.asList(PERSON_A));
+  private static final Event EVENT_2 = new Event("Event 2",
+      TimeRange.fromStartEnd(TIME_0800AM, TIME_0900AM, false), Arrays.asList(PERSON_A));
+  private static final Event EVENT_3 = new Event("Event 3",
+      TimeRange.fromStartEnd(TIME_0800AM, TIME_1100AM, false), Arrays.asList(PERSON_A));
+
+  @Test
+  public void eventsAreSortedByStartKeepingTies() {
+    SortedEventArray array = new SortedEventArray(Arrays.asList(EVENT_1, EVENT_2, EVENT_3));
+
+    Assert.assertEquals(Arrays.asList(EVENT_2, EVENT_3, EVENT_1), array.asList());
+  }
+
+  @Test
+  public void mergingKeepsTiesInArrayOrder() {
+    SortedEventArray merged = new SortedEventArray(Arrays.asList(EVENT_3, EVENT_1))
+        .mergeWith(new SortedEventArray(Arrays.asList(EVENT_2)));
+
+    Assert.assertEquals(Arrays.asList(EVENT_3, EVENT_2, EVENT_1), merged.asList());
+    Assert.assertEquals(TIME_1100AM, merged.nextFreeAfter(TIME_0800AM));
+  }
+
+  @Test
+  public void nextFreeAfterSkipsTouchingEvents() {
+    SortedEventArray array = new SortedEventArray(Arrays.asList(EVENT_1, EVENT_2));
+
+    Assert.assertEquals(TIME_1000AM, array.nextFreeAfter(TIME_0800AM));
+    Assert.assertEquals(TIME_1000AM, array.nextFreeAfter(TIME_0900AM));
+    Assert.assertEquals(TIME_1000AM, array.nextFreeAfter(TIME_1000AM));
+    Assert.assertEquals(TIME_0800AM - 1, array.nextFreeAfter(TIME_0800AM - 1));
+  }
+
+  @Test
+  public void matchesTimeRangeOnRandomEvents() {
+    Random random = new Random(42);
+    int day = TimeRange.WHOLE_DAY.duration();
+
+    for (int round = 0; round < 200; round++) {
+      List<Event> events = new ArrayList<>();
+      int eventCount = random.nextInt(20);
+      for (int i = 0; i < eventCount; i++) {
+        int start = random.nextInt(day);
+        int duration = random.nextInt(4) == 0 ? 0 : 1 + random.nextInt(120);
+        events.add(new Event("Event " + i, TimeRange.fromStartDuration(start, duration),
+            Arrays.asList(PERSON_A)));
+      }
+      SortedEventArray array = new SortedEventArray(events);
+
+      for (int query = 0; query < 20; query++) {
+        TimeRange range = TimeRange.fromStartDuration(random.nextInt(day),
+            random.nextInt(4) == 0 ? 0 : 1 + random.nextInt(120));
+
+        List<Event> expected = new ArrayList<>();
+        for (Event event : array.asList()) {
+          if (event.getWhen().overlaps(range)) {
+            expected.add(event);
+          }
+        }
+        Assert.assertEquals(expected, array.eventsOverlapping(range));
+
+        int expectedFree = range.start();
+        boolean moved = true;
+        while (moved) {
+          moved = false;
+          for (Event event : events) {
+            if (event.getWhen().contains(expectedFree)) {
+              expectedFree = event.getWhen().end();
+              moved = true;
+            }
+          }
+        }
+        Assert.assertEquals(expectedFree, array.nextFreeAfter(range.start()));
+      }
+    }
+  }
+}
@@ -0,0 +1,157 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class TimeRangeListTest {
+  private static final int TIME_0800AM = TimeRange.getTimeInMinutes(8, 0);
+  private static final int TIME_0830AM = TimeRange.getTimeInMinutes(8, 30);
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_0930AM = TimeRange.getTimeInMinutes(9, 30);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+
+  @Test
+  public void sameAnswersAsTimeRange() {
+    // Try every pair of small ranges, including ones with no duration.
+    for (int aStart = 0; aStart < 6; aStart++) {
+      for (int aEnd = aStart; aEnd < 6; aEnd++) {
+        TimeRangeList list = new TimeRangeList();
+        list.add(aStart, aEnd);
+        TimeRange a = TimeRange.fromStartEnd(aStart, aEnd, false);
+
+        for (int bStart = 0; bStart < 6; bStart++) {
+          for (int bEnd = bStart; bEnd < 6; bEnd++) {
+            TimeRange b = TimeRange.fromStartEnd(bStart, bEnd, false);
+            Assert.assertEquals(a + " " + b, a.overlaps(b), list.overlaps(0, bStart, bEnd));
+            Assert.assertEquals(a + " " + b, a.contains(b), list.contains(0, bStart, bEnd));
+          }
+          Assert.assertEquals(a.contains(bStart), list.contains(0, bStart));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void roundTripsThroughTimeRanges() {
+    List<TimeRange> ranges = Arrays.asList(TimeRange.fromStartEnd(TIME_0800AM, TIME_0830AM, false),
+        TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false));
+
+    TimeRangeList list = TimeRangeList.of(ranges);
+
+    Assert.assertEquals(2, list.size());
+    Assert.assertEquals(TIME_0900AM, list.start(1));
+    Assert.assertEquals(TIME_1000AM, list.end(1));
+    Assert.assertEquals(ranges, list.toTimeRanges());
+  }
+
+  @Test
+  public void intersectKeepsLongEnoughOverlaps() {
+    // The first overlap is 10 minutes long and the second is 30 minutes long.
+    //
+    // Ranges : |--------|   |---------|
+    // Other  :    |--|    |-----|
+    // Result :    |--|      |-|
+    TimeRangeList ranges = new TimeRangeList();
+    ranges.add(TIME_0800AM, TIME_0900AM);
+    ranges.add(TIME_0930AM, TimeRange.END_OF_DAY + 1);
+
+    TimeRangeList other = new TimeRangeList();
+    other.add(TIME_0800AM + 10, TIME_0800AM + 20);
+    other.add(TIME_0900AM, TIME_1000AM);
+
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartEnd(TIME_0800AM + 10, TIME_0800AM + 20,
+        false), TimeRange.fromStartEnd(TIME_0930AM, TIME_1000AM, false)),
+        ranges.intersect(other, 10).toTimeRanges());
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartEnd(TIME_0930AM, TIME_1000AM, false)),
+        ranges.intersect(other, 30).toTimeRanges());
+  }
+
+  @Test
+  public void unionAllMatchesUnionInOrder() {
+    Random random = new Random(7);
+
+    // Enough lists for the union to be split into parallel tasks.
+    List<TimeRangeList> lists = new ArrayList<>();
+    TimeRangeList expected = new TimeRangeList();
+    for (int i = 0; i < TimeRangeList.PARALLEL_THRESHOLD * 4; i++) {
+      TimeRangeList list = new TimeRangeList();
+      int start = random.nextInt(100);
+      while (start < TimeRange.END_OF_DAY) {
+        int end = Math.min(start + random.nextInt(60), TimeRange.END_OF_DAY + 1);
+        list.add(start, end);
+        start = end + 1 + random.nextInt(200);
+      }
+      lists.add(list);
+      expected = expected.union(list);
+    }
+
+    Assert.assertEquals(expected.toTimeRanges(), TimeRangeList.unionAll(lists).toTimeRanges());
+    Assert.assertTrue(TimeRangeList.unionAll(new ArrayList<>()).isEmpty());
+  }
+
+  @Test
+  public void subtractMatchesCountingEachMinute() {
+    Random random = new Random(7);
+    int day = TimeRange.WHOLE_DAY.duration();
+
+    for (int round = 0; round < 100; round++) {
+      TimeRangeList a = randomMergedList(random);
+      TimeRangeList b = randomMergedList(random);
+      TimeRangeList difference = a.subtract(b);
+
+      for (int minute = 0; minute < day; minute++) {
+        boolean inA = false;
+        for (int i = 0; i < a.size(); i++) {
+          inA |= a.contains(i, minute);
+        }
+        boolean inB = false;
+        for (int i = 0; i < b.size(); i++) {
+          inB |= b.contains(i, minute);
+        }
+        boolean inDifference = false;
+        for (int i = 0; i < difference.size(); i++) {
+          inDifference |= difference.contains(i, minute);
+        }
+        Assert.assertEquals(inA && !inB, inDifference);
+      }
+    }
+  }
+
+  private static TimeRangeList randomMergedList(Random random) {
+    TimeRangeList list = new TimeRangeList();
+    int start = random.nextInt(200);
+    while (start < TimeRange.END_OF_DAY) {
+      int end = Math.min(start + random.nextInt(120), TimeRange.END_OF_DAY + 1);
+      list.add(start, end);
+      start = end + 1 + random.nextInt(200);
+    }
+    return list;
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void rejectsIndexPastEnd() {
+    new TimeRangeList().start(0);
+  }
+}
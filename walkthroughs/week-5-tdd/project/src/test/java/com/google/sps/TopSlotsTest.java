@@ -0,0 +1,146 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class TopSlotsTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final int TIME_0800AM = TimeRange.getTimeInMinutes(8, 0);
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+  private static final int TIME_1100AM = TimeRange.getTimeInMinutes(11, 0);
+  private static final int TIME_0500PM = TimeRange.getTimeInMinutes(17, 0);
+
+  private static final int DURATION_30_MINUTES = 30;
+  private static final int DURATION_60_MINUTES = 60;
+
+  // Office hours, a 15 minute buffer and slots every 30 minutes.
+  private static final SlotPreferences PREFERENCES =
+      new SlotPreferences(TimeRange.fromStartEnd(TIME_0900AM, TIME_0500PM, false), 15, 30);
+
+  @Test
+  public void optionalAttendeesRankFirst() {
+    // Person B is only free from 8 to 9, before the preferred hours.
+    List<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0800AM, false),
+            Arrays.asList(PERSON_B)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_0900AM, TimeRange.END_OF_DAY, true),
+            Arrays.asList(PERSON_B)));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    request.addOptionalAttendee(PERSON_B);
+
+    List<RankedSlot> actual =
+        new FindMeetingQuery().queryTopSlots(new EventIndex(events), request, PREFERENCES, 2);
+    List<RankedSlot> expected = Arrays.asList(
+        new RankedSlot(TimeRange.fromStartDuration(TIME_0800AM, DURATION_30_MINUTES), 1, false,
+            15),
+        new RankedSlot(TimeRange.fromStartDuration(TIME_0800AM + 30, DURATION_30_MINUTES), 1,
+            false, 15));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void buffersRankBeforeStartTime() {
+    // Person A is busy from 10 to 11, so the preferred slots from 9 to 10 and from 11 to 12 have
+    // no buffer, and the best slots are the earliest ones starting at least 15 minutes after 11.
+    List<Event> events = Arrays.asList(new Event("Event 1",
+        TimeRange.fromStartEnd(TIME_1000AM, TIME_1100AM, false), Arrays.asList(PERSON_A)));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_60_MINUTES);
+
+    List<RankedSlot> actual =
+        new FindMeetingQuery().queryTopSlots(new EventIndex(events), request, PREFERENCES, 3);
+    List<RankedSlot> expected = Arrays.asList(
+        new RankedSlot(TimeRange.fromStartDuration(TIME_1100AM + 30, DURATION_60_MINUTES), 0,
+            true, 15),
+        new RankedSlot(TimeRange.fromStartDuration(TIME_1100AM + 60, DURATION_60_MINUTES), 0,
+            true, 15),
+        new RankedSlot(TimeRange.fromStartDuration(TIME_1100AM + 90, DURATION_60_MINUTES), 0,
+            true, 15));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void noSlotsWhenMandatoryAttendeesAreBusy() {
+    List<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.WHOLE_DAY, Arrays.asList(PERSON_A)));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+
+    List<RankedSlot> actual =
+        new FindMeetingQuery().queryTopSlots(new EventIndex(events), request, PREFERENCES, 5);
+
+    Assert.assertEquals(Arrays.asList(), actual);
+  }
+
+  @Test
+  public void topSlotsAreTheBestOfAllSlots() {
+    Random random = new Random(42);
+    List<String> people = Arrays.asList(PERSON_A, PERSON_B, "Person C", "Person D");
+
+    for (int round = 0; round < 200; round++) {
+      List<Event> events = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        int start = random.nextInt(TimeRange.WHOLE_DAY.duration());
+        int duration = 1 + random.nextInt(Math.min(180, TimeRange.WHOLE_DAY.duration() - start));
+        events.add(new Event("Event " + i, TimeRange.fromStartDuration(start, duration),
+            Arrays.asList(people.get(random.nextInt(people.size())))));
+      }
+
+      MeetingRequest request = new MeetingRequest(people.subList(0, 1), DURATION_30_MINUTES);
+      for (String person : people.subList(1, people.size())) {
+        request.addOptionalAttendee(person);
+      }
+
+      EventIndex index = new EventIndex(events);
+      FindMeetingQuery query = new FindMeetingQuery();
+      List<RankedSlot> allSlots =
+          query.queryTopSlots(index, request, PREFERENCES, Integer.MAX_VALUE);
+      List<RankedSlot> topSlots = query.queryTopSlots(index, request, PREFERENCES, 5);
+
+      Assert.assertEquals(allSlots.subList(0, Math.min(5, allSlots.size())), topSlots);
+
+      // Every slot must work for the mandatory attendee and its optional attendee count must be
+      // right.
+      for (RankedSlot slot : allSlots) {
+        int available = 0;
+        for (String person : people) {
+          boolean free = true;
+          for (Event event : index.getEvents(person)) {
+            free &= !event.getWhen().overlaps(slot.getWhen());
+          }
+          if (person.equals(PERSON_A)) {
+            Assert.assertTrue(free);
+          } else if (free) {
+            available++;
+          }
+        }
+        Assert.assertEquals(available, slot.getAvailableOptionalAttendees());
+      }
+    }
+  }
+}
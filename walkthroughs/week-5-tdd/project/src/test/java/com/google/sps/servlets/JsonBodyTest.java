@@ -0,0 +1,60 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class JsonBodyTest {
+
+  @Test
+  public void bodyIsTheJson() throws IOException {
+    JsonBody body = JsonBody.of(Arrays.asList("a", "b"));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    body.writeTo(out);
+
+    Assert.assertEquals("[\"a\",\"b\"]", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    Assert.assertEquals(out.size(), body.length());
+  }
+
+  @Test
+  public void etagDependsOnContents() {
+    JsonBody body = JsonBody.of(Arrays.asList("a", "b"));
+
+    Assert.assertEquals(body.getETag(), JsonBody.of(Arrays.asList("a", "b")).getETag());
+    Assert.assertNotEquals(body.getETag(), JsonBody.of(Arrays.asList("b", "a")).getETag());
+  }
+
+  @Test
+  public void ifNoneMatch() {
+    JsonBody body = JsonBody.of(Arrays.asList("a", "b"));
+    String etag = body.getETag();
+
+    Assert.assertFalse(body.matches(null));
+    Assert.assertFalse(body.matches("\"other\""));
+    Assert.assertTrue(body.matches(etag));
+    Assert.assertTrue(body.matches("*"));
+    Assert.assertTrue(body.matches("\"other\", W/" + etag));
+  }
+}